@@ -9,6 +9,7 @@ package com.onarandombox.MultiverseCore;
 
 import com.dumptruckman.minecraft.util.Logging;
 import com.onarandombox.MultiverseCore.api.BlockSafety;
+import com.onarandombox.MultiverseCore.api.MVWorldManager;
 import com.onarandombox.MultiverseCore.api.MultiverseWorld;
 import com.onarandombox.MultiverseCore.api.SafeTTeleporter;
 import com.onarandombox.MultiverseCore.configuration.SpawnLocation;
@@ -16,7 +17,9 @@ import com.onarandombox.MultiverseCore.configuration.SpawnSettings;
 import com.onarandombox.MultiverseCore.configuration.WorldPropertyValidator;
 import com.onarandombox.MultiverseCore.enums.AllowedPortalType;
 import com.onarandombox.MultiverseCore.enums.EnglishChatColor;
+import com.onarandombox.MultiverseCore.enums.WorldPermission;
 import com.onarandombox.MultiverseCore.exceptions.PropertyDoesNotExistException;
+import com.onarandombox.MultiverseCore.utils.SpawnPolicy;
 import me.main__.util.SerializationConfig.ChangeDeniedException;
 import me.main__.util.SerializationConfig.NoSuchPropertyException;
 import me.main__.util.SerializationConfig.VirtualProperty;
@@ -36,6 +39,7 @@ import org.bukkit.util.Vector;
 import org.jetbrains.annotations.Nullable;
 import org.json.simple.JSONObject;
 
+import java.lang.ref.WeakReference;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -52,6 +56,8 @@ public class MVWorld implements MultiverseWorld {
     private final String name; // The Worlds Name, EG its folder name.
     private final UUID worldUID;
     private final WorldProperties props;
+    private volatile WeakReference<World> cbWorld;
+    private volatile SpawnPolicy spawnPolicy;
 
     public MVWorld(MultiverseCore plugin, World world, WorldProperties properties) {
         this(plugin, world, properties, true);
@@ -64,6 +70,7 @@ public class MVWorld implements MultiverseWorld {
         this.plugin = plugin;
         this.name = world.getName();
         this.worldUID = world.getUID();
+        this.cbWorld = new WeakReference<World>(world);
         this.props = properties;
 
         setupProperties();
@@ -127,18 +134,24 @@ public class MVWorld implements MultiverseWorld {
         };
 
         this.props.keepSpawnInMemory = new VirtualProperty<Boolean>() {
+            // Wanted, but held back while the spawn area is generated bit by bit.
+            private volatile boolean deferred;
+
             @Override
             public void set(Boolean newValue) {
                 final World world = getCBWorld();
                 if (world != null) {
-                    world.setKeepSpawnInMemory(newValue);
+                    MVWorldManager worldManager = plugin.getMVWorldManager();
+                    this.deferred = newValue && worldManager != null && worldManager.isPreparingSpawnArea(world);
+                    // Turning it on would generate the whole spawn area right away.
+                    world.setKeepSpawnInMemory(newValue && !this.deferred);
                 }
             }
 
             @Override
             public Boolean get() {
                 final World world = getCBWorld();
-                return world != null ? world.getKeepSpawnInMemory() : null;
+                return world != null ? (this.deferred || world.getKeepSpawnInMemory()) : null;
             }
         };
 
@@ -176,6 +189,7 @@ public class MVWorld implements MultiverseWorld {
             }
         };
 
+        this.props.setValidator("alias", new AliasPropertyValidator());
         this.props.setValidator("scale", new ScalePropertyValidator());
         this.props.setValidator("respawnWorld", new RespawnWorldPropertyValidator());
         this.props.setValidator("allowWeather", new AllowWeatherPropertyValidator());
@@ -194,6 +208,32 @@ public class MVWorld implements MultiverseWorld {
         setAllowMonsterSpawn(canMonstersSpawn());
     }
 
+    /**
+     * Gets which creatures have to be removed from this world. It is worked out again whenever
+     * the spawning settings change.
+     *
+     * @return The {@link SpawnPolicy} of this world.
+     */
+    public SpawnPolicy getSpawnPolicy() {
+        SpawnPolicy policy = this.spawnPolicy;
+        if (policy == null) {
+            policy = SpawnPolicy.compile(getAnimalList(), getMonsterList(), canAnimalsSpawn(), canMonstersSpawn());
+            this.spawnPolicy = policy;
+        }
+        return policy;
+    }
+
+    /**
+     * Gets the permission node of one of this world's permissions, without building it again.
+     *
+     * @param kind Which permission.
+     * @return The permission node.
+     */
+    public String getPermissionNode(WorldPermission kind) {
+        String[] nodes = this.permissionNodes;
+        return (nodes != null) ? nodes[kind.ordinal()] : kind.getNode(this.getName());
+    }
+
     private void validateProperties() {
         setPVPMode(isPVPEnabled());
         setDifficulty(getDifficulty());
@@ -204,6 +244,19 @@ public class MVWorld implements MultiverseWorld {
         setGameMode(getGameMode());
     }
 
+    /**
+     * Used to keep the world manager's alias lookup up to date.
+     */
+    private final class AliasPropertyValidator extends WorldPropertyValidator<String> {
+        @Override
+        public String validateChange(String property, String newValue, String oldValue,
+                MVWorld object) throws ChangeDeniedException {
+            String alias = super.validateChange(property, newValue, oldValue, object);
+            plugin.getMVWorldManager().updateAliasIndex(MVWorld.this, oldValue, alias);
+            return alias;
+        }
+    }
+
     /**
      * Validates the scale-property.
      */
@@ -280,8 +333,10 @@ public class MVWorld implements MultiverseWorld {
                 }
                 world.setSpawnFlags(allowMonsters, allowAnimals);
             }
+            MVWorld.this.spawnPolicy = SpawnPolicy.compile(getAnimalList(), getMonsterList(),
+                    canAnimalsSpawn(), canMonstersSpawn());
             if (MultiverseCoreConfiguration.getInstance().isAutoPurgeEnabled()) {
-                plugin.getMVWorldManager().getTheWorldPurger().purgeWorld(MVWorld.this);
+                plugin.getMVWorldManager().getTheWorldPurger().purgeWorldIncrementally(MVWorld.this);
             }
             return super.validateChange(property, newValue, oldValue, object);
         }
@@ -337,6 +392,7 @@ public class MVWorld implements MultiverseWorld {
     private Permission exempt;
     private Permission ignoreperm;
     private Permission limitbypassperm;
+    private String[] permissionNodes;
 
     /**
      * Null-location.
@@ -386,15 +442,19 @@ public class MVWorld implements MultiverseWorld {
      * Initializes permissions.
      */
     private void initPerms() {
-        this.permission = new Permission("multiverse.access." + this.getName(), "Allows access to " + this.getName(), PermissionDefault.OP);
+        this.permissionNodes = new String[WorldPermission.values().length];
+        for (WorldPermission kind : WorldPermission.values()) {
+            this.permissionNodes[kind.ordinal()] = kind.getNode(this.getName());
+        }
+        this.permission = new Permission(this.getPermissionNode(WorldPermission.ACCESS), "Allows access to " + this.getName(), PermissionDefault.OP);
         // This guy is special. He shouldn't be added to any parent perms.
-        this.ignoreperm = new Permission("mv.bypass.gamemode." + this.getName(),
+        this.ignoreperm = new Permission(this.getPermissionNode(WorldPermission.GAMEMODE_BYPASS),
                 "Allows players with this permission to ignore gamemode changes.", PermissionDefault.FALSE);
 
-        this.exempt = new Permission("multiverse.exempt." + this.getName(),
+        this.exempt = new Permission(this.getPermissionNode(WorldPermission.EXEMPT),
                 "A player who has this does not pay to enter this world, or use any MV portals in it " + this.getName(), PermissionDefault.OP);
 
-        this.limitbypassperm = new Permission("mv.bypass.playerlimit." + this.getName(),
+        this.limitbypassperm = new Permission(this.getPermissionNode(WorldPermission.PLAYERLIMIT_BYPASS),
                 "A player who can enter this world regardless of wether its full", PermissionDefault.OP);
         try {
             this.plugin.getServer().getPluginManager().addPermission(this.permission);
@@ -405,9 +465,9 @@ public class MVWorld implements MultiverseWorld {
             this.addToUpperLists(this.permission);
 
             // Add ignore to it's parent:
-            this.ignoreperm.addParent("mv.bypass.gamemode.*", true);
+            this.addToParent("mv.bypass.gamemode.*", this.ignoreperm);
             // Add limit bypass to it's parent
-            this.limitbypassperm.addParent("mv.bypass.playerlimit.*", true);
+            this.addToParent("mv.bypass.playerlimit.*", this.limitbypassperm);
         } catch (IllegalArgumentException e) {
             Logging.finer("Permissions nodes were already added for " + this.name);
         }
@@ -442,7 +502,7 @@ public class MVWorld implements MultiverseWorld {
             } else {
                 // If it's a standard end world, let's check in a better place:
                 Location newerSpawn;
-                newerSpawn = bs.getTopBlock(new Location(w, 0, 0, 0));
+                newerSpawn = bs.getTopBlock(new Location(w, .5, 0, .5)); // SUPPRESS CHECKSTYLE: MagicNumberCheck
                 if (newerSpawn != null) {
                     Logging.info("New Spawn for '%s' is located at: %s",
                             this.getName(), plugin.getLocationManipulation().locationToString(newerSpawn));
@@ -477,10 +537,42 @@ public class MVWorld implements MultiverseWorld {
         all.getChildren().put("multiverse.access.*", true);
         all.getChildren().put("multiverse.exempt.*", true);
 
+        MVWorldManager bulk = this.getPermissionBulk();
+        if (bulk != null) {
+            bulk.deferPermissionRecalculation(all, true);
+            bulk.deferPermissionRecalculation(allWorlds, true);
+            return;
+        }
         this.plugin.getServer().getPluginManager().recalculatePermissionDefaults(all);
         this.plugin.getServer().getPluginManager().recalculatePermissionDefaults(allWorlds);
     }
 
+    private void addToParent(String parentName, Permission perm) {
+        MVWorldManager bulk = this.getPermissionBulk();
+        if (bulk == null) {
+            perm.addParent(parentName, true);
+            return;
+        }
+        // What addParent does, minus recalculating the parent for every world.
+        Permission parent = this.plugin.getServer().getPluginManager().getPermission(parentName);
+        if (parent == null) {
+            parent = new Permission(parentName);
+            this.plugin.getServer().getPluginManager().addPermission(parent);
+        }
+        parent.getChildren().put(perm.getName(), true);
+        bulk.deferPermissionRecalculation(parent, false);
+    }
+
+    /**
+     * Gets the world manager if it is registering world permissions in bulk.
+     *
+     * @return The world manager or null if permissions are registered one by one.
+     */
+    private MVWorldManager getPermissionBulk() {
+        MVWorldManager worldManager = this.plugin.getMVWorldManager();
+        return worldManager.isRegisteringPermissionsInBulk() ? worldManager : null;
+    }
+
     /**
      * Copies all properties from another {@link MVWorld} object.
      * @param other The other world object.
@@ -502,13 +594,26 @@ public class MVWorld implements MultiverseWorld {
      */
     @Override
     public World getCBWorld() {
-        final World world = plugin.getServer().getWorld(worldUID);
+        World world = this.cbWorld.get();
         if (world == null) {
-            throw new IllegalStateException("Lost reference to bukkit world '" + name + "'");
+            world = plugin.getServer().getWorld(worldUID);
+            if (world == null) {
+                throw new IllegalStateException("Lost reference to bukkit world '" + name + "'");
+            }
+            this.cbWorld = new WeakReference<World>(world);
         }
         return world;
     }
 
+    /**
+     * Forgets the cached Bukkit world, so the next call to {@link #getCBWorld()} asks the server again.
+     * <p>
+     * This has to be called when the Bukkit world is unloaded.
+     */
+    public void invalidateCBWorld() {
+        this.cbWorld = new WeakReference<World>(null);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1115,6 +1220,22 @@ public class MVWorld implements MultiverseWorld {
         return this.props.getAutoLoad();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLazyLoad(boolean lazyLoad) {
+        this.props.setLazyLoad(lazyLoad);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean getLazyLoad() {
+        return this.props.getLazyLoad();
+    }
+
     /**
      * {@inheritDoc}
      */
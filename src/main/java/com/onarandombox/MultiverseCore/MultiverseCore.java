@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.logging.Level;
 
 import buscript.Buscript;
@@ -90,6 +91,7 @@ import com.onarandombox.MultiverseCore.listeners.MVWorldInitListener;
 import com.onarandombox.MultiverseCore.listeners.MVWorldListener;
 import com.onarandombox.MultiverseCore.utils.AnchorManager;
 import com.onarandombox.MultiverseCore.utils.CompatibilityLayer;
+import com.onarandombox.MultiverseCore.utils.IdleWorldUnloader;
 import com.onarandombox.MultiverseCore.utils.MVEconomist;
 import com.onarandombox.MultiverseCore.utils.MVMessaging;
 import com.onarandombox.MultiverseCore.utils.MVPermissions;
@@ -100,12 +102,14 @@ import com.onarandombox.MultiverseCore.utils.metrics.MetricsConfigurator;
 import com.onarandombox.MultiverseCore.utils.SimpleBlockSafety;
 import com.onarandombox.MultiverseCore.utils.SimpleLocationManipulation;
 import com.onarandombox.MultiverseCore.utils.SimpleSafeTTeleporter;
+import com.onarandombox.MultiverseCore.utils.TeleportQueue;
 import com.onarandombox.MultiverseCore.utils.UnsafeCallWrapper;
 import com.onarandombox.MultiverseCore.utils.VaultHandler;
 import com.onarandombox.MultiverseCore.utils.WorldManager;
 import com.pneumaticraft.commandhandler.CommandHandler;
 import me.main__.util.SerializationConfig.NoSuchPropertyException;
 import me.main__.util.SerializationConfig.SerializationConfig;
+import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Difficulty;
 import org.bukkit.GameMode;
@@ -130,7 +134,7 @@ public class MultiverseCore extends JavaPlugin implements MVPlugin, Core {
     private static final int PROTOCOL = 24;
     // TODO: Investigate if this one is really needed to be static.
     // Doubt it. -- FernFerret
-    private static Map<String, String> teleportQueue = new HashMap<String, String>();
+    private static final TeleportQueue teleportQueue = new TeleportQueue();
 
     private AnchorManager anchorManager = new AnchorManager(this);
     // TODO please let's make this non-static
@@ -155,14 +159,21 @@ public class MultiverseCore extends JavaPlugin implements MVPlugin, Core {
      * This method is used to find out who is teleporting a player.
      * @param playerName The teleported player (the teleportee).
      * @return The player that teleported the other one (the teleporter).
+     * @deprecated Use {@link #getPlayerTeleporter(UUID)} instead.
      */
+    @Deprecated
     public static String getPlayerTeleporter(String playerName) {
-        if (teleportQueue.containsKey(playerName)) {
-            String teleportee = teleportQueue.get(playerName);
-            teleportQueue.remove(playerName);
-            return teleportee;
-        }
-        return null;
+        Player player = Bukkit.getPlayerExact(playerName);
+        return player == null ? null : getPlayerTeleporter(player.getUniqueId());
+    }
+
+    /**
+     * This method is used to find out who is teleporting a player.
+     * @param playerId The UUID of the teleported player (the teleportee).
+     * @return The player that teleported the other one (the teleporter), null if nobody did so just now.
+     */
+    public static String getPlayerTeleporter(UUID playerId) {
+        return teleportQueue.poll(playerId);
     }
 
     /**
@@ -170,10 +181,35 @@ public class MultiverseCore extends JavaPlugin implements MVPlugin, Core {
      *
      * @param teleporter The name of the player that initiated the teleportation.
      * @param teleportee The name of the player that was teleported.
+     * @deprecated Use {@link #addPlayerToTeleportQueue(String, UUID)} instead.
      */
+    @Deprecated
     public static void addPlayerToTeleportQueue(String teleporter, String teleportee) {
+        Player player = Bukkit.getPlayerExact(teleportee);
+        if (player != null) {
+            addPlayerToTeleportQueue(teleporter, player.getUniqueId());
+        }
+    }
+
+    /**
+     * This method is used to add a teleportation to the teleportQueue.
+     * It is forgotten after a few ticks if no teleport event picks it up.
+     *
+     * @param teleporter The name of the player that initiated the teleportation.
+     * @param teleportee The UUID of the player that was teleported.
+     */
+    public static void addPlayerToTeleportQueue(String teleporter, UUID teleportee) {
         Logging.finest("Adding mapping '%s' => '%s' to teleport queue", teleporter, teleportee);
-        teleportQueue.put(teleportee, teleporter);
+        teleportQueue.add(teleportee, teleporter);
+    }
+
+    /**
+     * Gets the queue that remembers who started a teleport.
+     *
+     * @return The {@link TeleportQueue}.
+     */
+    public static TeleportQueue getTeleportQueue() {
+        return teleportQueue;
     }
 
     /**
@@ -315,6 +351,7 @@ public class MultiverseCore extends JavaPlugin implements MVPlugin, Core {
             Logging.severe("Your configs were not loaded. Very little will function in Multiverse.");
         }
         this.anchorManager.loadAnchors();
+        new IdleWorldUnloader(this).start();
 
         // Now set the firstspawnworld (after the worlds are loaded):
         this.worldManager.setFirstSpawnWorld(getMVConfig().getFirstSpawnWorld());
@@ -392,11 +429,15 @@ public class MultiverseCore extends JavaPlugin implements MVPlugin, Core {
         PluginManager pm = getServer().getPluginManager();
         pm.registerEvents(this.playerListener, this);
         pm.registerEvents(this.entityListener, this);
+        this.entityListener.registerEntitiesLoad();
         pm.registerEvents(this.weatherListener, this);
         pm.registerEvents(this.portalListener, this);
         Logging.info(ChatColor.GREEN + "We are aware of the warning about the deprecated event. There is no alternative that allows us to do what we need to do and performance impact is negligible. It is safe to ignore.");
         pm.registerEvents(this.worldListener, this);
         pm.registerEvents(new MVMapListener(this), this);
+        if (this.safeTTeleporter instanceof SimpleSafeTTeleporter) {
+            pm.registerEvents(((SimpleSafeTTeleporter) this.safeTTeleporter).getLocationCache(), this);
+        }
     }
 
     /**
@@ -799,6 +840,7 @@ public class MultiverseCore extends JavaPlugin implements MVPlugin, Core {
      */
     @Override
     public void onDisable() {
+        this.worldManager.shutdown();
         this.saveMVConfigs();
         Logging.shutdown();
     }
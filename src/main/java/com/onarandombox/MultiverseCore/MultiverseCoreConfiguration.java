@@ -76,6 +76,16 @@ public class MultiverseCoreConfiguration extends SerializationConfig implements
     @Property
     private volatile boolean autopurge;
     @Property
+    private volatile boolean purgeonchunkload;
+    @Property
+    private volatile int idleunloadminutes;
+    @Property
+    private volatile double idleunloadheapthreshold;
+    @Property
+    private volatile boolean copyonwriteclone;
+    @Property
+    private volatile int trashretentionminutes;
+    @Property
     private volatile boolean idonotwanttodonate;
 
     public MultiverseCoreConfiguration() {
@@ -110,6 +120,11 @@ public class MultiverseCoreConfiguration extends SerializationConfig implements
         defaultportalsearch = true;
         portalsearchradius = 128;
         autopurge = true;
+        purgeonchunkload = false;
+        idleunloadminutes = -1;
+        idleunloadheapthreshold = 0D;
+        copyonwriteclone = false;
+        trashretentionminutes = 0;
         idonotwanttodonate = false;
         // END CHECKSTYLE-SUPPRESSION: MagicNumberCheck
     }
@@ -373,6 +388,56 @@ public class MultiverseCoreConfiguration extends SerializationConfig implements
         this.autopurge = autopurge;
     }
 
+    @Override
+    public boolean isPurgingOnChunkLoad() {
+        return purgeonchunkload;
+    }
+
+    @Override
+    public void setPurgingOnChunkLoad(boolean purgeOnChunkLoad) {
+        this.purgeonchunkload = purgeOnChunkLoad;
+    }
+
+    @Override
+    public int getIdleUnloadMinutes() {
+        return idleunloadminutes;
+    }
+
+    @Override
+    public void setIdleUnloadMinutes(int idleUnloadMinutes) {
+        this.idleunloadminutes = idleUnloadMinutes;
+    }
+
+    @Override
+    public double getIdleUnloadHeapThreshold() {
+        return idleunloadheapthreshold;
+    }
+
+    @Override
+    public void setIdleUnloadHeapThreshold(double heapThreshold) {
+        this.idleunloadheapthreshold = heapThreshold;
+    }
+
+    @Override
+    public boolean getCopyOnWriteClone() {
+        return copyonwriteclone;
+    }
+
+    @Override
+    public void setCopyOnWriteClone(boolean copyOnWriteClone) {
+        this.copyonwriteclone = copyOnWriteClone;
+    }
+
+    @Override
+    public int getTrashRetentionMinutes() {
+        return trashretentionminutes;
+    }
+
+    @Override
+    public void setTrashRetentionMinutes(int trashRetentionMinutes) {
+        this.trashretentionminutes = trashRetentionMinutes;
+    }
+
     @Override
     public boolean isShowingDonateMessage() {
         return !idonotwanttodonate;
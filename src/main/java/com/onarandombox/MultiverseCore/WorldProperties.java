@@ -285,6 +285,8 @@ public class WorldProperties extends SerializationConfig {
     volatile VirtualProperty<Location> spawn; // SUPPRESS CHECKSTYLE: VisibilityModifier
     @Property(description = "Set this to false ONLY if you don't want this world to load itself on server restart.")
     private volatile boolean autoLoad;
+    @Property(description = "Set this to true to load this world only when someone tries to go there.")
+    private volatile boolean lazyLoad;
     @Property(description = "If a player dies in this world, shoudld they go to their bed?")
     private volatile boolean bedRespawn;
     @Property
@@ -350,6 +352,7 @@ public class WorldProperties extends SerializationConfig {
         this.gameMode = GameMode.SURVIVAL;
         this.spawnLocation = new NullLocation();
         this.autoLoad = true;
+        this.lazyLoad = false;
         this.bedRespawn = true;
         this.worldBlacklist = new ArrayList<String>();
         this.generator = null;
@@ -605,6 +608,14 @@ public class WorldProperties extends SerializationConfig {
         return this.autoLoad;
     }
 
+    public void setLazyLoad(boolean lazyLoad) {
+        this.setPropertyValueUnchecked("lazyLoad", lazyLoad);
+    }
+
+    public boolean getLazyLoad() {
+        return this.lazyLoad;
+    }
+
     public void setBedRespawn(boolean respawn) {
         this.setPropertyValueUnchecked("bedRespawn", respawn);
     }
@@ -12,12 +12,15 @@ import com.onarandombox.MultiverseCore.utils.SimpleWorldPurger;
 import org.bukkit.World;
 import org.bukkit.World.Environment;
 import org.bukkit.WorldType;
+import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.generator.ChunkGenerator;
+import org.bukkit.permissions.Permission;
 
 import java.io.File;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Multiverse 2 World Manager API
@@ -83,6 +86,103 @@ public interface MVWorldManager {
      */
     boolean cloneWorld(String oldName, String newName);
 
+    /**
+     * Make a copy of a world without blocking the server while the files are copied.
+     * <p>
+     * The old world is saved right away, its files are copied in the background
+     * and the new world is loaded on the main thread once they are done.
+     * Cancelling the returned future stops the copy and removes the files copied so far.
+     *
+     * @param oldName Name of world to be copied
+     * @param newName Name of world to be created
+     * @param sender  Gets told about the progress of the copy. Can be null.
+     * @return A future that completes on the main thread with the new world, or with null if the world
+     *         could not be cloned.
+     */
+    CompletableFuture<MultiverseWorld> cloneWorldAsync(String oldName, String newName, CommandSender sender);
+
+    /**
+     * Sets how many loaded, empty clones of a template world are kept ready to be claimed.
+     * <p>
+     * Missing clones are made in the background, one at a time and only while the server keeps up.
+     *
+     * @param template The name or alias of the template world.
+     * @param size     The number of clones to keep ready, 0 to remove the pool.
+     * @return False if the template world is unknown.
+     */
+    boolean setWorldPoolSize(String template, int size);
+
+    /**
+     * Gets how many clones of a template world are ready to be claimed right now.
+     *
+     * @param template The name or alias of the template world.
+     * @return The number of ready clones.
+     */
+    int getPooledWorldCount(String template);
+
+    /**
+     * Takes a ready clone of a template world out of its pool. The world is yours until
+     * it is given back with {@link #releasePooledWorld(String)}.
+     *
+     * @param template The name or alias of the template world.
+     * @return A loaded world without players or null if none is ready.
+     */
+    MultiverseWorld claimPooledWorld(String template);
+
+    /**
+     * Gives back a world claimed with {@link #claimPooledWorld(String)}. The world is deleted.
+     *
+     * @param name The name of the claimed world.
+     * @return True if the world was claimed from a pool and has been deleted.
+     */
+    boolean releasePooledWorld(String name);
+
+    /**
+     * Checks whether a world is waiting in a pool to be claimed.
+     *
+     * @param name The name of the world.
+     * @return True if the world is a ready clone in a world pool.
+     */
+    boolean isPooledWorld(String name);
+
+    /**
+     * Takes a snapshot of a world that it can be restored to later.
+     * <p>
+     * The world is saved right away and its files are stored in the background. Files that are
+     * the same in several snapshots are only stored once.
+     *
+     * @param worldName    The name or alias of the world.
+     * @param snapshotName The name of the new snapshot.
+     * @return A future that completes on the main thread with true if the snapshot was taken.
+     */
+    CompletableFuture<Boolean> createSnapshot(String worldName, String snapshotName);
+
+    /**
+     * Restores a world from a snapshot. A loaded world is unloaded first and loaded again afterwards.
+     *
+     * @param worldName    The name or alias of the world.
+     * @param snapshotName The name of the snapshot.
+     * @return A future that completes on the main thread with true if the world was restored.
+     */
+    CompletableFuture<Boolean> restoreSnapshot(String worldName, String snapshotName);
+
+    /**
+     * Gets the snapshots of a world.
+     *
+     * @param worldName The name or alias of the world.
+     * @return The names of the snapshots, oldest first.
+     */
+    List<String> getSnapshots(String worldName);
+
+    /**
+     * Removes all but the newest snapshots of a world.
+     *
+     * @param worldName The name or alias of the world.
+     * @param keep      The number of snapshots to keep.
+     * @return A future that completes on the main thread with the number of removed snapshots.
+     */
+    CompletableFuture<Integer> pruneSnapshots(String worldName, int keep);
+
     /**
      * Remove the world from the Multiverse list, from the config and deletes
      * the folder.
@@ -132,6 +232,15 @@ public interface MVWorldManager {
      */
     boolean unloadWorld(String name, boolean unloadBukkit);
 
+    /**
+     * Unload a world from Multiverse and Bukkit once everyone has been moved out of it. The players are
+     * teleported over several ticks so a full world doesn't hold up the server.
+     *
+     * @param name Name of the world to unload
+     * @return A future that completes on the main thread with true if the world was unloaded, false if not.
+     */
+    CompletableFuture<Boolean> unloadWorldAsync(String name);
+
     /**
      * Loads the world. Only use this if the world has been
      * unloaded with {@link #unloadWorld(String)}.
@@ -141,6 +250,31 @@ public interface MVWorldManager {
      */
     boolean loadWorld(String name);
 
+    /**
+     * Checks whether the given world is unloaded and set to be loaded on demand.
+     *
+     * @param name The name or alias of the world.
+     * @return True if the world is known, unloaded and has lazyLoad enabled.
+     */
+    boolean isLazyUnloadedWorld(String name);
+
+    /**
+     * Loads a world that is set to be loaded on demand. Worlds that are already
+     * loaded are left alone.
+     *
+     * @param name The name or alias of the world to load.
+     * @return True if the world is loaded now, false if it is unknown, not lazy or failed to load.
+     */
+    boolean loadLazyWorld(String name);
+
+    /**
+     * Gets the name of a world from the config by its name or alias, whether it's loaded or not.
+     *
+     * @param name The name or alias of the world.
+     * @return The name of the world or null if there is no such world in the config.
+     */
+    String getConfigWorldName(String name);
+
     /**
      * Removes all players from the specified world.
      *
@@ -148,6 +282,14 @@ public interface MVWorldManager {
      */
     void removePlayersFromWorld(String name);
 
+    /**
+     * Removes all players from the specified world, loading the chunks they are sent to without blocking.
+     *
+     * @param name World to remove players from.
+     * @return A future that completes on the main thread with true if the world is empty afterwards.
+     */
+    CompletableFuture<Boolean> removePlayersFromWorldAsync(String name);
+
     /**
      * Test if a given chunk generator is valid.
      *
@@ -283,12 +425,30 @@ public interface MVWorldManager {
     FileConfiguration loadWorldConfig(File file);
 
     /**
-     * Saves the world config to disk.
+     * Stops everything the world manager still does in the background, like copying files of cloned worlds.
+     * <p>
+     * This is called when Multiverse is disabled.
+     */
+    void shutdown();
+
+    /**
+     * Saves the world config to disk right away.
      *
      * @return True if success, false if fail.
      */
     boolean saveWorldsConfig();
 
+    /**
+     * Marks the settings of a world as changed, so they get written to worlds.yml shortly.
+     * <p>
+     * Changes made within a short time are written together, off the main thread.
+     * Use {@link #saveWorldsConfig()} if the file has to be written right away.
+     *
+     * @param name The name of the world that changed.
+     * @return A future that completes on the main thread with whether the changes were saved.
+     */
+    CompletableFuture<Boolean> markWorldConfigDirty(String name);
+
     /**
      * Remove the world from the Multiverse list and from the config.
      *
@@ -325,6 +485,10 @@ public interface MVWorldManager {
 
     /**
      * Regenerates a world.
+     * <p>
+     * Everything happens before this returns, including sending the players back to the new world,
+     * which can hold up the server for a while. Use
+     * {@link #regenWorldAsync(String, boolean, boolean, String, boolean, CommandSender)} to spread it over several ticks.
      *
      * @param name          Name of the world to regenerate
      * @param useNewSeed    If a new seed should be used
@@ -336,7 +500,37 @@ public interface MVWorldManager {
      */
     boolean regenWorld(String name, boolean useNewSeed, boolean randomSeed, String seed, boolean keepGameRules);
 
+    /**
+     * Regenerates a world without holding up the server for long.
+     * <p>
+     * The players in the world are parked in the default world, the old world is deleted in the
+     * background and the spawn area of the new world is generated over several ticks. After that
+     * the players are brought back a few at a time. How long each stage took is logged and sent
+     * to the sender.
+     *
+     * @param name          Name of the world to regenerate
+     * @param useNewSeed    If a new seed should be used
+     * @param randomSeed    If the new seed should be random
+     * @param seed          The seed of the world.
+     * @param keepGameRules If GameRules should be kept on world regen.
+     * @param sender        Gets told how long the regen took. Can be null.
+     *
+     * @return A future that completes on the main thread with true if the world was regenerated.
+     */
+    CompletableFuture<Boolean> regenWorldAsync(String name, boolean useNewSeed, boolean randomSeed, String seed,
+                                               boolean keepGameRules, CommandSender sender);
+
     boolean isKeepingSpawnInMemory(World world);
+
+    /**
+     * Checks whether the spawn area of a world is being generated a few chunks at a time right now.
+     * <p>
+     * Until that is done, the spawn area must not be kept in memory, as that would generate all of it at once.
+     *
+     * @param world The world.
+     * @return True if the spawn area is being generated.
+     */
+    boolean isPreparingSpawnArea(World world);
     
     /**
      * Checks whether Multiverse knows about a provided unloaded world. This
@@ -356,4 +550,31 @@ public interface MVWorldManager {
      * @return A collection of world names that are deemed importable.
      */
     Collection<String> getPotentialWorlds();
+
+    /**
+     * Updates the alias lookups after the alias of a loaded world changed.
+     * <p>
+     * Called by the world when its alias property changes, before the new value is stored.
+     *
+     * @param world    The world whose alias changes.
+     * @param oldAlias The previous alias, may be empty.
+     * @param newAlias The new alias, may be empty.
+     */
+    void updateAliasIndex(MultiverseWorld world, String oldAlias, String newAlias);
+
+    /**
+     * Checks whether world permissions are being registered in bulk right now, for example while
+     * the worlds are loaded on startup.
+     *
+     * @return True if parent permissions should be handed to {@link #deferPermissionRecalculation(Permission, boolean)}.
+     */
+    boolean isRegisteringPermissionsInBulk();
+
+    /**
+     * Recalculates a parent permission at the end of the current bulk registration, or right away if there is none.
+     *
+     * @param parent The parent permission.
+     * @param defaults True to recalculate its defaults, false to only recalculate the permissibles that have it.
+     */
+    void deferPermissionRecalculation(Permission parent, boolean defaults);
 }
@@ -226,6 +226,87 @@ public interface MultiverseCoreConfig extends ConfigurationSerializable {
      */
     void setAutoPurgeEnabled(boolean autopurge);
 
+    /**
+     * Gets whether entities are purged from each chunk as it loads.
+     * <p>
+     * When enabled, a change of the spawn settings only purges the chunks that are loaded right now,
+     * the other chunks are purged when they are loaded again. This only has an effect while the automatic
+     * purge is enabled. From minecraft 1.17 on, the entities of a chunk are loaded after the chunk itself,
+     * so the chunk is purged once its entities are there.
+     *
+     * @return True if chunks are purged as they load.
+     */
+    boolean isPurgingOnChunkLoad();
+
+    /**
+     * Sets whether entities are purged from each chunk as it loads.
+     *
+     * @param purgeOnChunkLoad True to purge chunks as they load.
+     */
+    void setPurgingOnChunkLoad(boolean purgeOnChunkLoad);
+
+    /**
+     * Gets the number of minutes a world has to be empty before it is unloaded.
+     * Only lazy worlds are unloaded, as nothing would load any other world again.
+     *
+     * @return The number of minutes, or a negative number if idle worlds are never unloaded.
+     */
+    int getIdleUnloadMinutes();
+
+    /**
+     * Sets the number of minutes a world has to be empty before it is unloaded.
+     *
+     * @param idleUnloadMinutes The number of minutes, or a negative number to never unload idle worlds.
+     */
+    void setIdleUnloadMinutes(int idleUnloadMinutes);
+
+    /**
+     * Gets the fraction of the old generation heap that has to be in use before empty lazy worlds
+     * are unloaded regardless of how long they have been idle.
+     *
+     * @return The fraction between 0 and 1, or 0 if heap usage is ignored.
+     */
+    double getIdleUnloadHeapThreshold();
+
+    /**
+     * Sets the fraction of the old generation heap that has to be in use before empty worlds
+     * are unloaded regardless of how long they have been idle.
+     *
+     * @param heapThreshold The fraction between 0 and 1, or 0 to ignore heap usage.
+     */
+    void setIdleUnloadHeapThreshold(double heapThreshold);
+
+    /**
+     * Gets whether cloned worlds share the data of the source world on disk until either of them is changed.
+     * <p>
+     * This only works on filesystems that support reflinks (like btrfs, XFS or APFS), the files are copied
+     * the normal way everywhere else.
+     *
+     * @return True if worlds are cloned with copy-on-write links when possible.
+     */
+    boolean getCopyOnWriteClone();
+
+    /**
+     * Sets whether cloned worlds share the data of the source world on disk until either of them is changed.
+     *
+     * @param copyOnWriteClone True to clone worlds with copy-on-write links when possible.
+     */
+    void setCopyOnWriteClone(boolean copyOnWriteClone);
+
+    /**
+     * Gets how long deleted worlds are kept in the trash folder before they are really deleted.
+     *
+     * @return The number of minutes, 0 to delete them right away.
+     */
+    int getTrashRetentionMinutes();
+
+    /**
+     * Sets how long deleted worlds are kept in the trash folder before they are really deleted.
+     *
+     * @param trashRetentionMinutes The number of minutes, 0 to delete them right away.
+     */
+    void setTrashRetentionMinutes(int trashRetentionMinutes);
+
     /**
      * Gets whether or not the donation/patreon messages are shown.
      *
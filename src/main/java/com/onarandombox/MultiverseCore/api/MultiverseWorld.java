@@ -574,6 +574,24 @@ public interface MultiverseWorld {
      */
     void setAutoLoad(boolean autoLoad);
 
+    /**
+     * Gets whether or not Multiverse should load this world when someone tries to go there
+     * while it is unloaded.
+     *
+     * @return True if Multiverse should load this world on demand.
+     */
+    boolean getLazyLoad();
+
+    /**
+     * Sets whether or not Multiverse should load this world when someone tries to go there
+     * while it is unloaded.
+     * <p>
+     * False is default.
+     *
+     * @param lazyLoad True if multiverse should load this world on demand, false if not.
+     */
+    void setLazyLoad(boolean lazyLoad);
+
     /**
      * Gets whether or not a player who dies in this world will respawn in their
      * bed or follow the normal respawn pattern.
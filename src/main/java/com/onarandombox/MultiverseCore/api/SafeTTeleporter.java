@@ -3,6 +3,10 @@ package com.onarandombox.MultiverseCore.api;
 import org.bukkit.Location;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 
 import com.onarandombox.MultiverseCore.enums.TeleportResult;
 
@@ -27,6 +31,17 @@ public interface SafeTTeleporter extends Teleporter {
      */
     Location getSafeLocation(Location l, int tolerance, int radius);
 
+    /**
+     * Gets the next safe location around the given location without holding up the main thread.
+     * The blocks are looked at in snapshots of their chunks, off the main thread. This has to be
+     * called from the main thread.
+     * @param l A {@link Location}.
+     * @param tolerance The tolerance.
+     * @param radius The radius.
+     * @return A future that completes on the main thread with a safe {@link Location}, or null if there is none.
+     */
+    CompletableFuture<Location> getSafeLocationAsync(Location l, int tolerance, int radius);
+
     /**
      * Safely teleport the entity to the MVDestination. This will perform checks to see if the place is safe, and if
      * it's not, will adjust the final destination accordingly.
@@ -52,6 +67,44 @@ public interface SafeTTeleporter extends Teleporter {
     TeleportResult safelyTeleport(CommandSender teleporter, Entity teleportee, Location location,
             boolean safely);
 
+    /**
+     * Like {@link #safelyTeleport(CommandSender, Entity, MVDestination)}, but the chunks at the destination
+     * are loaded first, without holding up the main thread where the server supports it. This has to be
+     * called from the main thread.
+     *
+     * @param teleporter Person who performed the teleport command.
+     * @param teleportee Entity to teleport
+     * @param d          Destination to teleport them to
+     * @return A future that completes on the main thread with the result of the teleport.
+     */
+    CompletableFuture<TeleportResult> safelyTeleportAsync(CommandSender teleporter, Entity teleportee, MVDestination d);
+
+    /**
+     * Like {@link #safelyTeleport(CommandSender, Entity, Location, boolean)}, but the chunks at the destination
+     * are loaded first, without holding up the main thread where the server supports it. This has to be
+     * called from the main thread.
+     *
+     * @param teleporter Person who issued the teleport command.
+     * @param teleportee Entity to teleport.
+     * @param location   Location to teleport them to.
+     * @param safely     Should the destination be checked for safety before teleport?
+     * @return A future that completes on the main thread with the result of the teleport.
+     */
+    CompletableFuture<TeleportResult> safelyTeleportAsync(CommandSender teleporter, Entity teleportee, Location location,
+            boolean safely);
+
+    /**
+     * Teleports a group of players to the same location, spread over as many ticks as it takes to not
+     * hold up the server. The safe location is only looked up once for all of them. This has to be called
+     * from the main thread.
+     *
+     * @param players  Players to teleport.
+     * @param location Location to teleport them to.
+     * @param safely   Should the destination be checked for safety before teleport?
+     * @return A future that completes on the main thread with the number of players that were teleported.
+     */
+    CompletableFuture<Integer> safelyTeleportAll(Collection<? extends Player> players, Location location, boolean safely);
+
     /**
      * Returns a safe location for the entity to spawn at.
      *
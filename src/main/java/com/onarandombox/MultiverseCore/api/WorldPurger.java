@@ -1,7 +1,9 @@
 package com.onarandombox.MultiverseCore.api;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import org.bukkit.Chunk;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Entity;
 
@@ -46,6 +48,38 @@ public interface WorldPurger {
     void purgeWorld(MultiverseWorld mvworld, List<String> thingsToKill, boolean negateAnimals,
             boolean negateMonsters, CommandSender sender);
 
+    /**
+     * Convenience method for {@link #purgeWorldIncrementally(MultiverseWorld, java.util.List, boolean, boolean, CommandSender)}
+     * that takes the settings from the world-config.
+     *
+     * @param world The {@link MultiverseWorld}.
+     * @return A future that completes with the number of removed entities.
+     */
+    CompletableFuture<Integer> purgeWorldIncrementally(MultiverseWorld world);
+
+    /**
+     * Clear all animals/monsters that do not belong to a world according to the config, walking
+     * through the loaded chunks a few at a time so no single tick takes too long.
+     *
+     * @param mvworld The {@link MultiverseWorld}.
+     * @param thingsToKill A {@link List} of animals/monsters to be killed.
+     * @param negateAnimals Whether the monsters in the list should be negated.
+     * @param negateMonsters Whether the animals in the list should be negated.
+     * @param sender The {@link CommandSender} that initiated the action. He will be notified once the purge is done.
+     * @return A future that completes with the number of removed entities.
+     */
+    CompletableFuture<Integer> purgeWorldIncrementally(MultiverseWorld mvworld, List<String> thingsToKill,
+            boolean negateAnimals, boolean negateMonsters, CommandSender sender);
+
+    /**
+     * Clear all animals/monsters that do not belong to a world according to the config from a single chunk.
+     *
+     * @param world The {@link MultiverseWorld}.
+     * @param chunk The {@link Chunk}, which has to be in that world.
+     * @return The number of removed entities.
+     */
+    int purgeChunk(MultiverseWorld world, Chunk chunk);
+
     /**
      * Determines whether the specified creature should be killed.
      *
@@ -8,6 +8,7 @@
 package com.onarandombox.MultiverseCore.commands;
 
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
@@ -46,10 +47,15 @@ public class CloneCommand extends MultiverseCommand {
             sender.sendMessage("Check the " + ChatColor.GREEN + "/mv list" + ChatColor.WHITE + " command to verify it is listed.");
             return;
         }
-        if (this.plugin.getMVWorldManager().cloneWorld(oldName, args.get(1))) {
-            sender.sendMessage(ChatColor.GREEN + "World cloned!");
-        } else {
-            sender.sendMessage(ChatColor.RED + "World could NOT be cloned!");
-        }
+        sender.sendMessage("Cloning world " + oldName + "...");
+        this.worldManager.cloneWorldAsync(oldName, args.get(1), sender).whenComplete((world, error) -> {
+            if (world != null) {
+                sender.sendMessage(ChatColor.GREEN + "World cloned!");
+            } else if (error instanceof CancellationException) {
+                sender.sendMessage(ChatColor.RED + "Cloning was cancelled!");
+            } else {
+                sender.sendMessage(ChatColor.RED + "World could NOT be cloned!");
+            }
+        });
     }
 }
@@ -9,6 +9,7 @@ package com.onarandombox.MultiverseCore.commands;
 
 import com.onarandombox.MultiverseCore.MultiverseCore;
 import com.onarandombox.MultiverseCore.commandtools.queue.QueuedCommand;
+import com.onarandombox.MultiverseCore.utils.WorldTrash;
 import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.permissions.PermissionDefault;
@@ -51,6 +52,11 @@ public class DeleteCommand extends MultiverseCommand {
             sender.sendMessage(String.format("Deleting world '%s'...", worldName));
             if (this.plugin.getMVWorldManager().deleteWorld(worldName)) {
                 sender.sendMessage(String.format("%sWorld %s was deleted!", ChatColor.GREEN, worldName));
+                int retention = this.plugin.getMVConfig().getTrashRetentionMinutes();
+                if (retention > 0) {
+                    sender.sendMessage(String.format("Its folder can be recovered from '%s' for %d minute(s).",
+                            WorldTrash.TRASH_FOLDER, retention));
+                }
                 return;
             }
             sender.sendMessage(String.format("%sThere was an issue deleting '%s'! Please check console for errors.",
@@ -9,6 +9,7 @@ package com.onarandombox.MultiverseCore.commands;
 
 import com.onarandombox.MultiverseCore.MultiverseCore;
 import com.onarandombox.MultiverseCore.api.MultiverseWorld;
+import com.onarandombox.MultiverseCore.enums.WorldPermission;
 import com.onarandombox.MultiverseCore.display.ColorAlternator;
 import com.onarandombox.MultiverseCore.display.ContentDisplay;
 import com.onarandombox.MultiverseCore.display.ContentFilter;
@@ -84,7 +85,7 @@ public class ListCommand extends MultiverseCommand {
                 .collect(Collectors.toList());
 
         this.plugin.getMVWorldManager().getUnloadedWorlds().stream()
-                .filter(world -> plugin.getMVPerms().hasPermission(sender, "multiverse.access." + world, true))
+                .filter(world -> plugin.getMVPerms().hasWorldPermission(sender, world, WorldPermission.ACCESS))
                 .map(world -> ChatColor.GRAY + world + " - UNLOADED")
                 .forEach(worldList::add);
         
@@ -86,9 +86,11 @@ public class ModifyRemoveCommand extends MultiverseCommand {
         if (world.removeFromVariable(property, value)) {
             sender.sendMessage(ChatColor.GREEN + "Success! " + ChatColor.AQUA + value + ChatColor.WHITE
                     + " was " + ChatColor.RED + "removed from " + ChatColor.GREEN + property);
-            if (!plugin.saveWorldConfig()) {
-                sender.sendMessage(ChatColor.RED + "There was an issue saving worlds.yml!  Your changes will only be temporary!");
-            }
+            this.worldManager.markWorldConfigDirty(world.getName()).thenAccept(saved -> {
+                if (!saved) {
+                    sender.sendMessage(ChatColor.RED + "There was an issue saving worlds.yml!  Your changes will only be temporary!");
+                }
+            });
         } else {
             sender.sendMessage(ChatColor.RED + "There was an error removing " + ChatColor.GRAY
                     + value + ChatColor.WHITE + " from " + ChatColor.GOLD + property);
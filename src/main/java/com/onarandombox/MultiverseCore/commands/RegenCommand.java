@@ -60,11 +60,15 @@ public class RegenCommand extends MultiverseCommand {
                                   boolean keepGamerules) {
 
         return () -> {
-            if (this.plugin.getMVWorldManager().regenWorld(worldName, useSeed, randomSeed, seed, keepGamerules)) {
-                sender.sendMessage(ChatColor.GREEN + "World Regenerated!");
-                return;
-            }
-            sender.sendMessage(ChatColor.RED + "World could NOT be regenerated!");
+            sender.sendMessage(String.format("Regenerating world '%s'...", worldName));
+            this.plugin.getMVWorldManager().regenWorldAsync(worldName, useSeed, randomSeed, seed, keepGamerules, sender)
+                    .whenComplete((success, error) -> {
+                        if (error == null && success) {
+                            sender.sendMessage(ChatColor.GREEN + "World Regenerated!");
+                            return;
+                        }
+                        sender.sendMessage(ChatColor.RED + "World could NOT be regenerated!");
+                    });
         };
     }
 }
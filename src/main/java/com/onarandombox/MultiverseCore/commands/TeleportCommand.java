@@ -78,6 +78,14 @@ public class TeleportCommand extends MultiverseCommand {
         }
 
         DestinationFactory df = this.plugin.getDestFactory();
+
+        // Hold the teleport until the world is loaded so the player isn't left wondering.
+        String lazyWorld = df.getLazyWorldName(destinationName);
+        if (lazyWorld != null) {
+            this.holdTeleportForLazyWorld(sender, teleportee, lazyWorld, args);
+            return;
+        }
+
         MVDestination d = df.getPlayerAwareDestination(teleportee, destinationName);
 
         MVTeleportEvent teleportEvent = new MVTeleportEvent(d, teleportee, teleporter, true);
@@ -147,9 +155,19 @@ public class TeleportCommand extends MultiverseCommand {
             this.messaging.sendMessage(teleporter, "Sorry Boss, I tried everything, but just couldn't teleport ya there!", false);
             return;
         }
-        Teleporter teleportObject = (d instanceof CustomTeleporterDestination) ?
-                ((CustomTeleporterDestination)d).getTeleporter() : this.playerTeleporter;
-        TeleportResult result = teleportObject.teleport(teleporter, teleportee, d);
+        if (d instanceof CustomTeleporterDestination) {
+            Teleporter teleportObject = ((CustomTeleporterDestination) d).getTeleporter();
+            this.handleTeleportResult(sender, teleporter, teleportee, d, teleportObject.teleport(teleporter, teleportee, d));
+            return;
+        }
+        // The destination may be far away, let its chunks load before looking for a safe spot there.
+        final Player finalTeleportee = teleportee;
+        this.playerTeleporter.safelyTeleportAsync(teleporter, teleportee, d)
+                .thenAccept(result -> this.handleTeleportResult(sender, teleporter, finalTeleportee, d, result));
+    }
+
+    private void handleTeleportResult(CommandSender sender, CommandSender teleporter, Player teleportee,
+                                      MVDestination d, TeleportResult result) {
         if (result == TeleportResult.FAIL_UNSAFE) {
             Logging.fine("Could not teleport " + teleportee.getName()
                     + " to " + plugin.getLocationManipulation().strCoordsRaw(d.getLocation(teleportee)));
@@ -170,6 +188,25 @@ public class TeleportCommand extends MultiverseCommand {
         // else: Player was teleported successfully (or the tp event was fired I should say)
     }
 
+    private void holdTeleportForLazyWorld(CommandSender sender, Player teleportee, String worldName, List<String> args) {
+        String message = String.format("%sWorld %s%s %sis warming up, you'll be teleported in a moment...",
+                ChatColor.WHITE, ChatColor.AQUA, worldName, ChatColor.WHITE);
+        this.messaging.sendMessage(teleportee, message, false);
+        if (!teleportee.equals(sender)) {
+            this.messaging.sendMessage(sender, message, false);
+        }
+        this.plugin.getServer().getScheduler().runTask(this.plugin, () -> {
+            if (!this.plugin.getMVWorldManager().loadLazyWorld(worldName)) {
+                this.messaging.sendMessage(sender, String.format("%sSorry, the world %s%s %scould not be loaded.",
+                        ChatColor.RED, ChatColor.AQUA, worldName, ChatColor.RED), false);
+                return;
+            }
+            if (teleportee.isOnline()) {
+                this.runCommand(sender, args);
+            }
+        });
+    }
+
     private Runnable doUnsafeTeleport(CommandSender teleporter, Player player, Location location) {
         return () -> this.plugin.getSafeTTeleporter().safelyTeleport(teleporter, player, location, false);
     }
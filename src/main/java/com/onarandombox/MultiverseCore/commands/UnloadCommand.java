@@ -33,10 +33,15 @@ public class UnloadCommand extends MultiverseCommand {
 
     @Override
     public void runCommand(CommandSender sender, List<String> args) {
-        if (this.plugin.getMVWorldManager().unloadWorld(args.get(0))) {
-            Command.broadcastCommandMessage(sender, "Unloaded world '" + args.get(0) + "'!");
-        } else {
-            sender.sendMessage("Error trying to unload world '" + args.get(0) + "'!");
-        }
+        // Players are moved out over a few ticks first, the world is unloaded once it's empty.
+        this.plugin.getMVWorldManager().unloadWorldAsync(args.get(0)).whenComplete((unloaded, error) -> {
+            if (error != null) {
+                sender.sendMessage("Error trying to unload world '" + args.get(0) + "': " + error.getMessage());
+            } else if (unloaded) {
+                Command.broadcastCommandMessage(sender, "Unloaded world '" + args.get(0) + "'!");
+            } else {
+                sender.sendMessage("Error trying to unload world '" + args.get(0) + "'!");
+            }
+        });
     }
 }
@@ -10,6 +10,9 @@ package com.onarandombox.MultiverseCore.commands;
 import com.dumptruckman.minecraft.util.Logging;
 import com.onarandombox.MultiverseCore.MultiverseCore;
 import com.onarandombox.MultiverseCore.event.MVVersionEvent;
+import com.onarandombox.MultiverseCore.utils.SafeLocationCache;
+import com.onarandombox.MultiverseCore.utils.SimpleSafeTTeleporter;
+import com.onarandombox.MultiverseCore.utils.TeleportQueue;
 import com.onarandombox.MultiverseCore.utils.webpaste.PasteFailedException;
 import com.onarandombox.MultiverseCore.utils.webpaste.PasteService;
 import com.onarandombox.MultiverseCore.utils.webpaste.PasteServiceFactory;
@@ -77,9 +80,26 @@ public class VersionCommand extends MultiverseCommand {
                 + "[Multiverse-Core]   defaultportalsearch: " + plugin.getMVConfig().isUsingDefaultPortalSearch() + '\n'
                 + "[Multiverse-Core]   portalsearchradius: " + plugin.getMVConfig().getPortalSearchRadius() + '\n'
                 + "[Multiverse-Core]   autopurge: " + plugin.getMVConfig().isAutoPurgeEnabled() + '\n'
+                + this.getSafeLocationCacheString()
+                + this.getTeleportQueueString()
                 + "[Multiverse-Core] Special Code: FRN002" + '\n';
     }
 
+    private String getSafeLocationCacheString() {
+        if (!(this.plugin.getSafeTTeleporter() instanceof SimpleSafeTTeleporter)) {
+            return "";
+        }
+        SafeLocationCache cache = ((SimpleSafeTTeleporter) this.plugin.getSafeTTeleporter()).getLocationCache();
+        return "[Multiverse-Core] Safe location cache: " + cache.size() + " entries, " + cache.getHits() + " hits, "
+                + cache.getMisses() + " misses" + '\n';
+    }
+
+    private String getTeleportQueueString() {
+        TeleportQueue queue = MultiverseCore.getTeleportQueue();
+        return "[Multiverse-Core] Teleport queue: " + queue.size() + " entries, " + queue.getConsumed() + " of "
+                + queue.getAdded() + " used, " + queue.getExpired() + " expired" + '\n';
+    }
+
     public String getMarkdownString() {
         return "# Multiverse-Core" + '\n'
                 + "## Overview" + '\n'
@@ -94,7 +94,7 @@ public class AnchorDestination implements MVDestination {
             return;
         }
         this.name = parsed.get(1);
-        this.location = this.plugin.getAnchorManager().getAnchorLocation(parsed.get(1));
+        this.location = this.plugin.getAnchorManager().loadAnchorLocation(parsed.get(1));
         if (this.location == null) {
             this.isValid = false;
             return;
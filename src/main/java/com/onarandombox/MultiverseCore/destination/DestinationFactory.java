@@ -129,6 +129,23 @@ public class DestinationFactory {
         return new InvalidDestination();
     }
 
+    /**
+     * Gets the world a destination points to if that world still has to be loaded on demand.
+     *
+     * @param destination The destination in string format.
+     *
+     * @return The name of the world to load, or null if nothing has to be loaded.
+     */
+    public String getLazyWorldName(String destination) {
+        String[] items = destination.split(":");
+        if (items.length == 2 && items[0].equalsIgnoreCase("a")) {
+            return this.plugin.getAnchorManager().getLazyAnchorWorld(items[1]);
+        }
+        // Either just the world, or the world right after the identifier.
+        String worldName = (items.length > 1 && this.destList.containsKey(items[0])) ? items[1] : items[0];
+        return this.plugin.getMVWorldManager().isLazyUnloadedWorld(worldName) ? worldName : null;
+    }
+
     /**
      * Registers a {@link MVDestination}.
      *
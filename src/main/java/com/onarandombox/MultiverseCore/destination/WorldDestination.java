@@ -10,6 +10,7 @@ package com.onarandombox.MultiverseCore.destination;
 import com.onarandombox.MultiverseCore.MultiverseCore;
 import com.onarandombox.MultiverseCore.api.Core;
 import com.onarandombox.MultiverseCore.api.MVDestination;
+import com.onarandombox.MultiverseCore.api.MVWorldManager;
 import com.onarandombox.MultiverseCore.api.MultiverseWorld;
 import org.bukkit.Location;
 import org.bukkit.entity.Entity;
@@ -22,6 +23,8 @@ import org.bukkit.util.Vector;
 public class WorldDestination implements MVDestination {
     private boolean isValid;
     private MultiverseWorld world;
+    private MVWorldManager worldManager;
+    private String lazyWorldName;
     private float yaw = -1;
     private String direction = "";
 
@@ -42,14 +45,14 @@ public class WorldDestination implements MVDestination {
         if (items.length > 3) {
             return false;
         }
-        if (items.length == 1 && ((MultiverseCore) plugin).getMVWorldManager().isMVWorld(items[0])) {
+        if (items.length == 1 && isWorld(plugin, items[0])) {
             // This case is: world
             return true;
         }
-        if (items.length == 2 && ((MultiverseCore) plugin).getMVWorldManager().isMVWorld(items[0])) {
+        if (items.length == 2 && isWorld(plugin, items[0])) {
             // This case is: world:n
             return true;
-        } else if (items[0].equalsIgnoreCase("w") && ((MultiverseCore) plugin).getMVWorldManager().isMVWorld(items[1])) {
+        } else if (items[0].equalsIgnoreCase("w") && isWorld(plugin, items[1])) {
             // This case is: w:world
             // and w:world:ne
             return true;
@@ -57,12 +60,60 @@ public class WorldDestination implements MVDestination {
         return false;
     }
 
+    /**
+     * Checks whether the given name is a world, either loaded or set to be loaded on demand.
+     * Nothing is loaded here.
+     *
+     * @param plugin The {@link MultiverseCore} instance.
+     * @param name The name or alias of the world.
+     * @return True if the world is loaded or can be loaded on demand.
+     */
+    private static boolean isWorld(JavaPlugin plugin, String name) {
+        MVWorldManager worldManager = ((MultiverseCore) plugin).getMVWorldManager();
+        return worldManager.isMVWorld(name) || worldManager.isLazyUnloadedWorld(name);
+    }
+
+    /**
+     * Remembers the world of this destination, without loading it yet if it's loaded on demand.
+     *
+     * @param worldManager The {@link MVWorldManager}.
+     * @param name The name or alias of the world.
+     */
+    private void setWorld(MVWorldManager worldManager, String name) {
+        this.worldManager = worldManager;
+        this.world = worldManager.getMVWorld(name);
+        this.lazyWorldName = (this.world == null) ? worldManager.getConfigWorldName(name) : null;
+    }
+
+    /**
+     * Gets the world of this destination, loading it now if it's loaded on demand.
+     *
+     * @return The {@link MultiverseWorld}, or null if it could not be loaded.
+     */
+    private MultiverseWorld getWorld() {
+        if (this.world == null && this.lazyWorldName != null && this.worldManager.loadLazyWorld(this.lazyWorldName)) {
+            this.world = this.worldManager.getMVWorld(this.lazyWorldName);
+            this.lazyWorldName = null;
+        }
+        return this.world;
+    }
+
+    /**
+     * Gets the name of the world of this destination, without loading it.
+     *
+     * @return The name of the world.
+     */
+    private String getWorldName() {
+        return (this.world != null) ? this.world.getName() : this.lazyWorldName;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public Location getLocation(Entity e) {
-        Location spawnLoc = getAcurateSpawnLocation(e, this.world);
+        // This is where we're actually going there, so this is when a lazy world gets loaded.
+        Location spawnLoc = getAcurateSpawnLocation(e, this.getWorld());
         if (this.yaw >= 0) {
             // Only modify the yaw if its set.
             spawnLoc.setYaw(this.yaw);
@@ -101,18 +152,18 @@ public class WorldDestination implements MVDestination {
             isValid = false;
             return;
         }
-        if (items.length == 1 && ((MultiverseCore) plugin).getMVWorldManager().isMVWorld(items[0])) {
+        if (items.length == 1 && isWorld(plugin, items[0])) {
             isValid = true;
-            this.world = core.getMVWorldManager().getMVWorld(items[0]);
+            this.setWorld(core.getMVWorldManager(), items[0]);
             return;
         }
-        if (items.length == 2 && ((MultiverseCore) plugin).getMVWorldManager().isMVWorld(items[0])) {
-            this.world = core.getMVWorldManager().getMVWorld(items[0]);
+        if (items.length == 2 && isWorld(plugin, items[0])) {
+            this.setWorld(core.getMVWorldManager(), items[0]);
             this.yaw = core.getLocationManipulation().getYaw(items[1]);
             return;
         }
-        if (items[0].equalsIgnoreCase("w") && ((MultiverseCore) plugin).getMVWorldManager().isMVWorld(items[1])) {
-            this.world = ((MultiverseCore) plugin).getMVWorldManager().getMVWorld(items[1]);
+        if (items[0].equalsIgnoreCase("w") && isWorld(plugin, items[1])) {
+            this.setWorld(core.getMVWorldManager(), items[1]);
             isValid = true;
             if (items.length == 3) {
                 this.yaw = core.getLocationManipulation().getYaw(items[2]);
@@ -133,15 +184,15 @@ public class WorldDestination implements MVDestination {
      */
     @Override
     public String getName() {
-        return this.world.getColoredWorldString();
+        return (this.world != null) ? this.world.getColoredWorldString() : this.lazyWorldName;
     }
 
     @Override
     public String toString() {
         if (direction.length() > 0 && yaw >= 0) {
-            return this.world.getCBWorld().getName() + ":" + this.direction;
+            return this.getWorldName() + ":" + this.direction;
         }
-        return this.world.getCBWorld().getName();
+        return this.getWorldName();
     }
 
     /**
@@ -151,7 +202,7 @@ public class WorldDestination implements MVDestination {
     public String getRequiredPermission() {
         // TODO: Potenitally replace spaces wiht tabs for friendlier yaml.
         // this.world.getName().replace(" ","_");
-        return "multiverse.access." + this.world.getName();
+        return "multiverse.access." + this.getWorldName();
     }
 
     /**
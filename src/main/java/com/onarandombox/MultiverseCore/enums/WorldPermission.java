@@ -0,0 +1,46 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.enums;
+
+/**
+ * An enum containing the permissions every world has.
+ */
+public enum WorldPermission {
+    /**
+     * Allows entering the world.
+     */
+    ACCESS("multiverse.access."),
+    /**
+     * Allows entering the world and using its portals for free.
+     */
+    EXEMPT("multiverse.exempt."),
+    /**
+     * Keeps the gamemode when entering the world.
+     */
+    GAMEMODE_BYPASS("mv.bypass.gamemode."),
+    /**
+     * Allows entering the world when it's full.
+     */
+    PLAYERLIMIT_BYPASS("mv.bypass.playerlimit.");
+
+    private final String prefix;
+
+    WorldPermission(String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * Gets the permission node for a world.
+     *
+     * @param worldName The name of the world.
+     * @return The permission node.
+     */
+    public String getNode(String worldName) {
+        return this.prefix + worldName;
+    }
+}
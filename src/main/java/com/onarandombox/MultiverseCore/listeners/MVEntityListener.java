@@ -12,10 +12,11 @@ import com.onarandombox.MultiverseCore.MultiverseCore;
 import com.onarandombox.MultiverseCore.api.MVWorldManager;
 import com.onarandombox.MultiverseCore.api.MultiverseWorld;
 import com.onarandombox.MultiverseCore.utils.CompatibilityLayer;
-import org.bukkit.World;
+import org.bukkit.Chunk;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.CreatureSpawnEvent;
 import org.bukkit.event.entity.CreatureSpawnEvent.SpawnReason;
@@ -23,6 +24,8 @@ import org.bukkit.event.entity.EntityPortalEvent;
 import org.bukkit.event.entity.EntityRegainHealthEvent;
 import org.bukkit.event.entity.EntityRegainHealthEvent.RegainReason;
 import org.bukkit.event.entity.FoodLevelChangeEvent;
+import org.bukkit.event.world.ChunkEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
 
 /**
  * Multiverse's Entity {@link Listener}.
@@ -87,12 +90,12 @@ public class MVEntityListener implements Listener {
             return;
         }
 
-        World world = event.getEntity().getWorld();
         if (event.isCancelled())
             return;
 
         // Check if it's a world which we are meant to be managing.
-        if (!(this.worldManager.isMVWorld(world.getName())))
+        MultiverseWorld mvworld = this.worldManager.getMVWorld(event.getEntity().getWorld());
+        if (mvworld == null)
             return;
 
         EntityType type = event.getEntityType();
@@ -104,10 +107,49 @@ public class MVEntityListener implements Listener {
             return;
         }
 
-        MultiverseWorld mvworld = this.worldManager.getMVWorld(world.getName());
         event.setCancelled(this.plugin.getMVWorldManager().getTheWorldPurger().shouldWeKillThisCreature(mvworld, event.getEntity()));
     }
 
+    /**
+     * Registers for the event that is called once the entities of a chunk are loaded, on servers that
+     * load them after the chunk itself (1.17 and newer). Older servers use {@link #chunkLoad(ChunkLoadEvent)}.
+     */
+    public void registerEntitiesLoad() {
+        final Class<? extends ChunkEvent> eventClass = CompatibilityLayer.getEntitiesLoadEvent();
+        if (eventClass == null) {
+            return;
+        }
+        this.plugin.getServer().getPluginManager().registerEvent(eventClass, this, EventPriority.NORMAL, (listener, event) -> {
+            if (eventClass.isInstance(event)) {
+                this.purgeLoadedChunk(((ChunkEvent) event).getChunk());
+            }
+        }, this.plugin);
+    }
+
+    /**
+     * Purges the creatures that don't belong in a world from chunks as they load, if enabled.
+     * @param event The event.
+     */
+    @EventHandler
+    public void chunkLoad(ChunkLoadEvent event) {
+        if (event.isNewChunk() || CompatibilityLayer.getEntitiesLoadEvent() != null) {
+            // Creatures in new chunks went through creatureSpawn already.
+            // On newer servers the entities aren't there yet, they are purged once they are loaded.
+            return;
+        }
+        this.purgeLoadedChunk(event.getChunk());
+    }
+
+    private void purgeLoadedChunk(Chunk chunk) {
+        if (!this.plugin.getMVConfig().isAutoPurgeEnabled() || !this.plugin.getMVConfig().isPurgingOnChunkLoad()) {
+            return;
+        }
+        MultiverseWorld mvworld = this.worldManager.getMVWorld(chunk.getWorld());
+        if (mvworld != null) {
+            this.worldManager.getTheWorldPurger().purgeChunk(mvworld, chunk);
+        }
+    }
+
     /**
      * Handles portal search radius adjustment.
      * @param event The Event that was fired.
@@ -12,6 +12,7 @@ import com.onarandombox.MultiverseCore.MultiverseCore;
 import com.onarandombox.MultiverseCore.api.MVWorldManager;
 import com.onarandombox.MultiverseCore.api.MultiverseWorld;
 import com.onarandombox.MultiverseCore.enums.RespawnType;
+import com.onarandombox.MultiverseCore.enums.WorldPermission;
 import com.onarandombox.MultiverseCore.event.MVRespawnEvent;
 import com.onarandombox.MultiverseCore.utils.CompatibilityLayer;
 import com.onarandombox.MultiverseCore.utils.PermissionTools;
@@ -137,7 +138,7 @@ public class MVPlayerListener implements Listener {
         } else {
             Logging.finer("Player joined AGAIN!");
             if (this.plugin.getMVConfig().getEnforceAccess() // check this only if we're enforcing access!
-                    && !this.plugin.getMVPerms().hasPermission(p, "multiverse.access." + p.getWorld().getName(), false)) {
+                    && !this.plugin.getMVPerms().hasWorldPermission(p, p.getWorld().getName(), WorldPermission.ACCESS)) {
                 p.sendMessage("[MV] - Sorry you can't be in this world anymore!");
                 this.sendPlayerToDefaultWorld(p);
             }
@@ -153,6 +154,7 @@ public class MVPlayerListener implements Listener {
      */
     @EventHandler(priority = EventPriority.MONITOR)
     public void playerChangedWorld(PlayerChangedWorldEvent event) {
+        this.plugin.getMVPerms().invalidate(event.getPlayer());
         // Permissions now determine whether or not to handle a gamemode.
         this.handleGameModeAndFlight(event.getPlayer(), event.getPlayer().getWorld());
         playerWorld.put(event.getPlayer().getName(), event.getPlayer().getWorld().getName());
@@ -165,6 +167,7 @@ public class MVPlayerListener implements Listener {
     @EventHandler
     public void playerQuit(PlayerQuitEvent event) {
         this.plugin.removePlayerSession(event.getPlayer());
+        this.plugin.getMVPerms().invalidate(event.getPlayer());
     }
 
     /**
@@ -181,7 +184,7 @@ public class MVPlayerListener implements Listener {
         }
         Player teleportee = event.getPlayer();
         CommandSender teleporter = null;
-        String teleporterName = MultiverseCore.getPlayerTeleporter(teleportee.getName());
+        String teleporterName = MultiverseCore.getPlayerTeleporter(teleportee.getUniqueId());
         if (teleporterName != null) {
             if (teleporterName.equals("CONSOLE")) {
                 Logging.finer("We know the teleporter is the console! Magical!");
@@ -20,9 +20,11 @@ import org.bukkit.event.world.WorldUnloadEvent;
  * Multiverse's World {@link Listener}.
  */
 public class MVWorldListener implements Listener {
+    private MultiverseCore plugin;
     private MVWorldManager worldManager;
 
     public MVWorldListener(MultiverseCore plugin) {
+        this.plugin = plugin;
         this.worldManager = plugin.getMVWorldManager();
     }
 
@@ -39,6 +41,7 @@ public class MVWorldListener implements Listener {
             World world = (World) event.getWorld();
             if (world != null) {
             	worldManager.unloadWorld(world.getName(), false);
+                this.plugin.getMVPerms().invalidateAll();
             }
         }
     }
@@ -54,6 +57,8 @@ public class MVWorldListener implements Listener {
             if (worldManager.getUnloadedWorlds().contains(world.getName())) {
                 worldManager.loadWorld(world.getName());
             }
+            // New worlds come with new permissions.
+            this.plugin.getMVPerms().invalidateAll();
             MultiverseWorld mvWorld = worldManager.getMVWorld(world);
             if (mvWorld != null) {
                 // This is where we can temporarily fix those pesky property issues!
@@ -9,6 +9,7 @@ package com.onarandombox.MultiverseCore.utils;
 
 import com.dumptruckman.minecraft.util.Logging;
 import com.onarandombox.MultiverseCore.MultiverseCore;
+import com.onarandombox.MultiverseCore.enums.WorldPermission;
 import org.bukkit.Location;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
@@ -29,11 +30,13 @@ import java.util.Set;
 public class AnchorManager {
     private MultiverseCore plugin;
     private Map<String, Location> anchors;
+    private Map<String, String> lazyAnchors;
     private FileConfiguration anchorConfig;
 
     public AnchorManager(MultiverseCore plugin) {
         this.plugin = plugin;
         this.anchors = new HashMap<String, Location>();
+        this.lazyAnchors = new HashMap<String, String>();
     }
 
     /**
@@ -41,16 +44,22 @@ public class AnchorManager {
      */
     public void loadAnchors() {
         this.anchors = new HashMap<String, Location>();
+        this.lazyAnchors = new HashMap<String, String>();
         this.anchorConfig = YamlConfiguration.loadConfiguration(new File(this.plugin.getDataFolder(), "anchors.yml"));
         this.ensureConfigIsPrepared();
         ConfigurationSection anchorsSection = this.anchorConfig.getConfigurationSection("anchors");
         Set<String> anchorKeys = anchorsSection.getKeys(false);
         for (String key : anchorKeys) {
             //world:x,y,z:pitch:yaw
-            Location anchorLocation = plugin.getLocationManipulation().stringToLocation(anchorsSection.getString(key, ""));
+            String locationString = anchorsSection.getString(key, "");
+            Location anchorLocation = plugin.getLocationManipulation().stringToLocation(locationString);
             if (anchorLocation != null) {
                 Logging.config("Loading anchor:  '%s'...", key);
                 this.anchors.put(key, anchorLocation);
+            } else if (this.plugin.getMVWorldManager().isLazyUnloadedWorld(locationString.split(":")[0])) {
+                // The world gets loaded once someone uses the anchor.
+                Logging.config("Anchor '%s' is in an unloaded world, it will be loaded on demand.", key);
+                this.lazyAnchors.put(key, locationString);
             } else {
                 Logging.warning("The location for anchor '%s' is INVALID.", key);
             }
@@ -90,6 +99,34 @@ public class AnchorManager {
         return null;
     }
 
+    /**
+     * Gets the {@link Location} associated with an anchor, loading its world first
+     * if it's set to be loaded on demand.
+     * @param anchor The name of the anchor.
+     * @return The {@link Location} or null if the anchor doesn't exist or its world couldn't be loaded.
+     */
+    public Location loadAnchorLocation(String anchor) {
+        String locationString = this.lazyAnchors.get(anchor);
+        if (locationString != null && this.plugin.getMVWorldManager().loadLazyWorld(locationString.split(":")[0])) {
+            Location location = plugin.getLocationManipulation().stringToLocation(locationString);
+            if (location != null) {
+                this.lazyAnchors.remove(anchor);
+                this.anchors.put(anchor, location);
+            }
+        }
+        return this.getAnchorLocation(anchor);
+    }
+
+    /**
+     * Gets the name of the world an anchor is in, if that world is waiting to be loaded on demand.
+     * @param anchor The name of the anchor.
+     * @return The name of the world or null if the anchor's world is loaded or the anchor doesn't exist.
+     */
+    public String getLazyAnchorWorld(String anchor) {
+        String locationString = this.lazyAnchors.get(anchor);
+        return locationString == null ? null : locationString.split(":")[0];
+    }
+
     /**
      * Saves an anchor.
      * @param anchor The name of the anchor.
@@ -139,17 +176,17 @@ public class AnchorManager {
             if (ancLoc == null) {
                 continue;
             }
-            String worldPerm = "multiverse.access." + ancLoc.getWorld().getName();
+            String worldName = ancLoc.getWorld().getName();
             // Add to the list if we're not enforcing access
             // OR
             // We are enforcing access and the user has the permission.
             if (!this.plugin.getMVConfig().getEnforceAccess() ||
-                    (this.plugin.getMVConfig().getEnforceAccess() && p.hasPermission(worldPerm))) {
+                    this.plugin.getMVPerms().hasWorldPermission(p, worldName, WorldPermission.ACCESS)) {
                 myAnchors.add(anchor);
             } else {
                 Logging.finer(String.format("Not adding anchor %s to the list, user %s doesn't have the %s " +
                         "permission and 'enforceaccess' is enabled!",
-                        anchor, p.getName(), worldPerm));
+                        anchor, p.getName(), WorldPermission.ACCESS.getNode(worldName)));
             }
         }
         return Collections.unmodifiableSet(myAnchors);
@@ -161,8 +198,9 @@ public class AnchorManager {
      * @return True if the anchor was successfully deleted.
      */
     public boolean deleteAnchor(String s) {
-        if (this.anchors.containsKey(s)) {
+        if (this.anchors.containsKey(s) || this.lazyAnchors.containsKey(s)) {
             this.anchors.remove(s);
+            this.lazyAnchors.remove(s);
             this.anchorConfig.set("anchors." + s, null);
             return this.saveAnchors();
         }
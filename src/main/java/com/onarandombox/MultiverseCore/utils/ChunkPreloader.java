@@ -0,0 +1,125 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.utils;
+
+import com.dumptruckman.minecraft.util.Logging;
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.plugin.IllegalPluginAccessException;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Loads the chunks around a location before something happens there.
+ * <p>
+ * If the server can load chunks asynchronously, they are all requested at once. Otherwise they are
+ * loaded on the main thread, one per tick. Either way, the returned futures complete on the main thread.
+ */
+public class ChunkPreloader {
+    private final MultiverseCore plugin;
+
+    public ChunkPreloader(MultiverseCore plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Loads the chunks around a location. This has to be called from the main thread.
+     *
+     * @param l The {@link Location}.
+     * @param radius How many blocks around the location have to be loaded.
+     * @return A future that completes on the main thread once all chunks are loaded.
+     */
+    public CompletableFuture<Void> preload(Location l, int radius) {
+        World world = l.getWorld();
+        Deque<int[]> missing = new ArrayDeque<int[]>();
+        for (int chunkX = (l.getBlockX() - radius) >> 4; chunkX <= (l.getBlockX() + radius) >> 4; chunkX++) {
+            for (int chunkZ = (l.getBlockZ() - radius) >> 4; chunkZ <= (l.getBlockZ() + radius) >> 4; chunkZ++) {
+                if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                    missing.add(new int[] { chunkX, chunkZ });
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Logging.finer("Loading %d chunk(s) around %s before using it.", missing.size(),
+                plugin.getLocationManipulation().strCoordsRaw(l));
+        if (CompatibilityLayer.canLoadChunksAsync()) {
+            return this.loadAsync(world, missing);
+        }
+        return this.loadOverTicks(world, missing);
+    }
+
+    private CompletableFuture<Void> loadAsync(World world, Deque<int[]> missing) {
+        List<CompletableFuture<Chunk>> requests = new ArrayList<CompletableFuture<Chunk>>(missing.size());
+        for (int[] chunk : missing) {
+            CompletableFuture<Chunk> request = CompatibilityLayer.getChunkAtAsync(world, chunk[0], chunk[1]);
+            if (request == null) {
+                // Something went wrong calling it, do it the slow way.
+                return this.loadOverTicks(world, missing);
+            }
+            requests.add(request);
+        }
+        CompletableFuture<Void> loaded = new CompletableFuture<Void>();
+        CompletableFuture.allOf(requests.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, error) -> {
+            if (error != null) {
+                Logging.fine("Could not load chunks ahead of time: %s", error.getMessage());
+            }
+            this.completeOnMainThread(loaded);
+        });
+        return loaded;
+    }
+
+    private CompletableFuture<Void> loadOverTicks(World world, Deque<int[]> missing) {
+        CompletableFuture<Void> loaded = new CompletableFuture<Void>();
+        BukkitTask[] task = new BukkitTask[1];
+        Runnable loadNext = () -> {
+            int[] chunk = missing.poll();
+            if (chunk != null) {
+                world.loadChunk(chunk[0], chunk[1]);
+            }
+            if (missing.isEmpty()) {
+                if (task[0] != null) {
+                    task[0].cancel();
+                }
+                loaded.complete(null);
+            }
+        };
+        // The first one right away, the request is waiting for it.
+        loadNext.run();
+        if (!loaded.isDone()) {
+            try {
+                task[0] = this.plugin.getServer().getScheduler().runTaskTimer(this.plugin, loadNext, 1L, 1L);
+            } catch (IllegalPluginAccessException e) {
+                while (!missing.isEmpty()) {
+                    loadNext.run();
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private void completeOnMainThread(CompletableFuture<Void> future) {
+        if (this.plugin.getServer().isPrimaryThread()) {
+            future.complete(null);
+            return;
+        }
+        try {
+            this.plugin.getServer().getScheduler().runTask(this.plugin, () -> future.complete(null));
+        } catch (IllegalPluginAccessException e) {
+            future.complete(null);
+        }
+    }
+}
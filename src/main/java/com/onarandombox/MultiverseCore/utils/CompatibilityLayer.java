@@ -1,11 +1,17 @@
 package com.onarandombox.MultiverseCore.utils;
 
 import com.dumptruckman.minecraft.util.Logging;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.event.entity.EntityPortalEvent;
 import org.bukkit.event.player.PlayerPortalEvent;
 import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.world.ChunkEvent;
 
 import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Utility class to enable version specific minecraft features.
@@ -16,6 +22,10 @@ public class CompatibilityLayer {
     private static boolean useTravelAgent;
     private static Method playerPortalSearchRadius;
     private static Method entityPortalSearchRadius;
+    private static Method worldMinHeight;
+    private static Method chunkAtAsync;
+    private static Method snapshotBlockType;
+    private static Class<? extends ChunkEvent> entitiesLoadEvent;
 
     /**
      * Initialise the reflection class, methods and fields.
@@ -25,6 +35,93 @@ public class CompatibilityLayer {
         useTravelAgent = ReflectHelper.hasClass("org.bukkit.TravelAgent");
         playerPortalSearchRadius = ReflectHelper.getMethod(PlayerPortalEvent.class, "setSearchRadius", int.class);
         entityPortalSearchRadius = ReflectHelper.getMethod(EntityPortalEvent.class, "setSearchRadius", int.class);
+        // These may be declared on a super interface of World, so look for public methods.
+        worldMinHeight = getPublicMethod(World.class, "getMinHeight");
+        chunkAtAsync = getPublicMethod(World.class, "getChunkAtAsync", int.class, int.class);
+        if (chunkAtAsync != null && !CompletableFuture.class.isAssignableFrom(chunkAtAsync.getReturnType())) {
+            chunkAtAsync = null;
+        }
+        snapshotBlockType = getPublicMethod(ChunkSnapshot.class, "getBlockType", int.class, int.class, int.class);
+        Class<?> eventClass = ReflectHelper.getClass("org.bukkit.event.world.EntitiesLoadEvent");
+        entitiesLoadEvent = (eventClass != null && ChunkEvent.class.isAssignableFrom(eventClass))
+                ? eventClass.asSubclass(ChunkEvent.class) : null;
+    }
+
+    private static Method getPublicMethod(Class<?> clazz, String methodName, Class<?>... parameterTypes) {
+        try {
+            return clazz.getMethod(methodName, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * <p>Checks if the server can load chunks without holding up the main thread.</p>
+     * <p>Only available on Paper.</p>
+     *
+     * @return True if {@link #getChunkAtAsync(World, int, int)} is supported.
+     */
+    public static boolean canLoadChunksAsync() {
+        return chunkAtAsync != null;
+    }
+
+    /**
+     * <p>Loads a chunk without holding up the main thread.</p>
+     * <p>Only available on Paper.</p>
+     *
+     * @param world A world.
+     * @param x The x coordinate of the chunk.
+     * @param z The z coordinate of the chunk.
+     * @return A future that completes with the chunk, or null if this isn't supported.
+     */
+    public static CompletableFuture<Chunk> getChunkAtAsync(World world, int x, int z) {
+        if (chunkAtAsync == null) {
+            return null;
+        }
+        return ReflectHelper.invokeMethod(world, chunkAtAsync, x, z);
+    }
+
+    /**
+     * <p>Gets the type of a block in a chunk snapshot.</p>
+     * <p>Before minecraft 1.13, snapshots only know the id of the type.</p>
+     *
+     * @param snapshot A chunk snapshot.
+     * @param x The x coordinate of the block within the chunk.
+     * @param y The y coordinate of the block.
+     * @param z The z coordinate of the block within the chunk.
+     * @return The type of the block.
+     */
+    @SuppressWarnings("deprecation")
+    public static Material getBlockType(ChunkSnapshot snapshot, int x, int y, int z) {
+        if (snapshotBlockType != null) {
+            return ReflectHelper.invokeMethod(snapshot, snapshotBlockType, x, y, z);
+        }
+        return Material.getMaterial(snapshot.getBlockTypeId(x, y, z));
+    }
+
+    /**
+     * <p>Gets the event that is called once the entities of a chunk have been loaded.</p>
+     * <p>Introduced in minecraft 1.17, before that the entities are loaded together with the chunk.</p>
+     *
+     * @return The event class, or null if the entities are loaded with the chunk.
+     */
+    public static Class<? extends ChunkEvent> getEntitiesLoadEvent() {
+        return entitiesLoadEvent;
+    }
+
+    /**
+     * <p>Gets the lowest y coordinate blocks can be at in a world.</p>
+     * <p>Introduced in minecraft 1.17, always 0 before.</p>
+     *
+     * @param world A world.
+     * @return The minimum height.
+     */
+    public static int getMinHeight(World world) {
+        if (worldMinHeight == null) {
+            return 0;
+        }
+        Integer result = ReflectHelper.invokeMethod(world, worldMinHeight);
+        return result == null ? 0 : result;
     }
 
     /**
@@ -11,13 +11,20 @@ import static java.nio.file.StandardCopyOption.COPY_ATTRIBUTES;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import com.dumptruckman.minecraft.util.Logging;
@@ -26,6 +33,12 @@ import com.dumptruckman.minecraft.util.Logging;
  * File-utilities.
  */
 public class FileUtils {
+    /**
+     * How often a running copy-on-write copy checks whether it should stop, in milliseconds.
+     */
+    private static final long REFLINK_POLL_INTERVAL = 100L;
+    private static final File NULL_DEVICE = new File("/dev/null");
+
     protected FileUtils() {
         throw new UnsupportedOperationException();
     }
@@ -53,8 +66,20 @@ public class FileUtils {
      * @return true if the contents were successfully deleted
      */
     public static boolean deleteFolderContents(File file) {
+        return deleteFolderContents(file, null);
+    }
+
+    /**
+     * Used to delete the contents of a folder, without deleting the folder itself.
+     *
+     * @param file The folder whose contents to delete.
+     * @param keepFiles names of files to keep, along with the folders they are in
+     * @return true if the contents were successfully deleted
+     */
+    public static boolean deleteFolderContents(File file, List<String> keepFiles) {
         try (Stream<Path> files = Files.walk(file.toPath())){
             files.sorted(Comparator.reverseOrder())
+                    .filter(f -> keepFiles == null || !keepFiles.contains(f.getFileName().toString()))
                     .map(Path::toFile)
                     .filter(f -> !f.equals(file))
                     .forEach(File::delete);
@@ -85,28 +110,234 @@ public class FileUtils {
      * @return true if it had success
      */
     public static boolean copyFolder(File source, File target, List<String> excludeFiles) {
+        return copyFolder(source, target, excludeFiles, null);
+    }
+
+    /**
+     * Helper method to copy the world-folder.
+     * @param source Source-File
+     * @param target Target-File
+     * @param excludeFiles files to ignore and not copy over to Target-File
+     * @param listener told about every copied file, may stop the copy. Can be null.
+     *
+     * @return true if it had success, false if it failed or was stopped by the listener
+     */
+    public static boolean copyFolder(File source, File target, List<String> excludeFiles, CopyListener listener) {
         Path sourceDir = source.toPath();
         Path targetDir = target.toPath();
 
         try {
-            Files.walkFileTree(sourceDir, new CopyDirFileVisitor(sourceDir, targetDir, excludeFiles));
-            return true;
+            CopyDirFileVisitor visitor = new CopyDirFileVisitor(sourceDir, targetDir, excludeFiles, listener);
+            Files.walkFileTree(sourceDir, visitor);
+            return !visitor.stopped;
         } catch (IOException e) {
             Logging.warning("Unable to copy directory", e);
             return false;
         }
     }
 
+    /**
+     * Copies a folder with copy-on-write links, so the copy shares the data of the source on disk
+     * until either of them is changed.
+     * <p>
+     * The links are made in a staging folder next to the target, which is only moved into place
+     * once it is complete. This needs a filesystem that supports reflinks (like btrfs, XFS or APFS).
+     * Hard links are never used: the server writes region files in place, so a hard linked copy
+     * would change the source as well.
+     *
+     * @param source Source-File
+     * @param target Target-File, must not exist yet
+     * @param excludeFiles files to ignore and not copy over to Target-File
+     *
+     * @return true if it had success, false if the folder has to be copied the normal way
+     */
+    public static boolean reflinkFolder(File source, File target, List<String> excludeFiles) {
+        return reflinkFolder(source, target, excludeFiles, null);
+    }
+
+    /**
+     * Copies a folder with copy-on-write links, see {@link #reflinkFolder(File, File, List)}.
+     * <p>
+     * The listener is asked now and then whether to stop while the links are made, and is told
+     * about every linked file in the staging folder once they are all there.
+     *
+     * @param source Source-File
+     * @param target Target-File, must not exist yet
+     * @param excludeFiles files to ignore and not copy over to Target-File
+     * @param listener told about the linked files, may stop the copy. Can be null.
+     *
+     * @return true if it had success, false if the folder has to be copied the normal way or the listener stopped it
+     */
+    public static boolean reflinkFolder(File source, File target, List<String> excludeFiles, CopyListener listener) {
+        List<String> command = getReflinkCommand();
+        if (command == null || target.exists()) {
+            return false;
+        }
+        Path targetPath = target.toPath();
+        Path staging = targetPath.resolveSibling("." + target.getName() + ".mv-staging");
+        try {
+            if (Files.exists(staging)) {
+                deleteFolder(staging.toFile());
+            }
+            command.add(source.getAbsolutePath());
+            command.add(staging.toAbsolutePath().toString());
+            // Nothing worth reading in the output.
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(NULL_DEVICE).start();
+            boolean finished;
+            try {
+                finished = waitForReflink(process, listener);
+            } finally {
+                if (process.isAlive()) {
+                    // Stopped or interrupted, cp must not keep writing into the staging folder.
+                    process.destroyForcibly().waitFor();
+                }
+            }
+            if (!finished) {
+                Logging.fine("Stopped linking files for '%s'", target);
+                if (Files.exists(staging)) {
+                    deleteFolder(staging.toFile());
+                }
+                return false;
+            }
+            if (process.exitValue() != 0) {
+                Logging.fine("Copy-on-write links are not supported for '%s'", target);
+                if (Files.exists(staging)) {
+                    deleteFolder(staging.toFile());
+                }
+                return false;
+            }
+            if (excludeFiles != null && !excludeFiles.isEmpty()) {
+                try (Stream<Path> files = Files.walk(staging)) {
+                    files.filter(file -> excludeFiles.contains(file.getFileName().toString()))
+                            .map(Path::toFile)
+                            .forEach(File::delete);
+                }
+            }
+            if (listener != null && !reportLinkedFiles(staging, listener)) {
+                Logging.fine("Stopped linking files for '%s'", target);
+                deleteFolder(staging.toFile());
+                return false;
+            }
+            try {
+                Files.move(staging, targetPath, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(staging, targetPath);
+            }
+            return true;
+        } catch (IOException e) {
+            Logging.fine("Unable to link directory: %s", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (Files.exists(staging)) {
+            deleteFolder(staging.toFile());
+        }
+        return false;
+    }
+
+    private static boolean waitForReflink(Process process, CopyListener listener) throws InterruptedException {
+        while (!process.waitFor(REFLINK_POLL_INTERVAL, TimeUnit.MILLISECONDS)) {
+            if (listener != null && listener.isStopped()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean reportLinkedFiles(Path folder, CopyListener listener) throws IOException {
+        try (Stream<Path> files = Files.walk(folder)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.isRegularFile(file) && !listener.fileCopied(file, Files.size(file))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the command that makes a copy-on-write copy of a folder on this system.
+     *
+     * @return The command without the source and target or null if there is none.
+     */
+    private static List<String> getReflinkCommand() {
+        String os = System.getProperty("os.name", "").toLowerCase(Locale.ENGLISH);
+        if (os.contains("linux")) {
+            return new ArrayList<>(Arrays.asList("cp", "-R", "--preserve=timestamps", "--reflink=always"));
+        }
+        if (os.contains("mac")) {
+            // -c makes cp use clonefile(2).
+            return new ArrayList<>(Arrays.asList("cp", "-R", "-p", "-c"));
+        }
+        return null;
+    }
+
+    /**
+     * Writes a text file so that readers never see it half written.
+     * <p>
+     * The content goes to a temporary file next to the target first, which is then moved over the target.
+     *
+     * @param target The file to write.
+     * @param content The new content of the file.
+     *
+     * @return true if it had success
+     */
+    public static boolean writeAtomically(File target, String content) {
+        Path targetPath = target.toPath();
+        Path tempPath = targetPath.resolveSibling(target.getName() + ".tmp");
+        try {
+            Files.write(tempPath, content.getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(tempPath, targetPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, targetPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (IOException e) {
+            Logging.warning("Unable to write file '%s': %s", target, e.getMessage());
+            try {
+                Files.deleteIfExists(tempPath);
+            } catch (IOException ignored) {
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Gets told about the progress of {@link #copyFolder(File, File, List, CopyListener)}
+     * and {@link #reflinkFolder(File, File, List, CopyListener)}.
+     */
+    public interface CopyListener {
+        /**
+         * Called after a file has been copied.
+         *
+         * @param file The copied file in the target folder.
+         * @param bytes The size of the file.
+         * @return false to stop copying.
+         */
+        boolean fileCopied(Path file, long bytes);
+
+        /**
+         * Called now and then while files are copied in a way that can't report single files.
+         *
+         * @return true to stop copying.
+         */
+        boolean isStopped();
+    }
+
     private static class CopyDirFileVisitor extends SimpleFileVisitor<Path> {
 
         private final Path sourceDir;
         private final Path targetDir;
         private final List<String> excludeFiles;
+        private final CopyListener listener;
+        private boolean stopped;
 
-        private CopyDirFileVisitor(Path sourceDir, Path targetDir, List<String> excludeFiles) {
+        private CopyDirFileVisitor(Path sourceDir, Path targetDir, List<String> excludeFiles, CopyListener listener) {
             this.sourceDir = sourceDir;
             this.targetDir = targetDir;
             this.excludeFiles = excludeFiles;
+            this.listener = listener;
         }
 
         @Override
@@ -126,6 +357,10 @@ public class FileUtils {
             // Copy the files
             Path targetFile = targetDir.resolve(sourceDir.relativize(file));
             Files.copy(file, targetFile, COPY_ATTRIBUTES);
+            if (listener != null && !listener.fileCopied(targetFile, attrs.size())) {
+                stopped = true;
+                return FileVisitResult.TERMINATE;
+            }
             return FileVisitResult.CONTINUE;
         }
     }
@@ -0,0 +1,196 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.utils;
+
+import com.dumptruckman.minecraft.util.Logging;
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import com.onarandombox.MultiverseCore.api.MultiverseWorld;
+import org.bukkit.World;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unloads worlds that have been empty for a while, or sooner when the heap is running full.
+ * <p>
+ * Only lazy worlds are unloaded, as those are loaded again once someone wants to go there.
+ * Worlds are checked periodically. The default world, the first spawn world, any world
+ * used as a respawn world and worlds waiting in a world pool are never unloaded.
+ */
+public class IdleWorldUnloader implements Runnable {
+    /**
+     * How often the worlds are checked, in ticks.
+     */
+    public static final long CHECK_INTERVAL = 20L * 30L;
+
+    private final MultiverseCore plugin;
+    private final Map<String, Long> lastOccupied;
+    private final MemoryPoolMXBean oldGenPool;
+
+    public IdleWorldUnloader(MultiverseCore plugin) {
+        this.plugin = plugin;
+        this.lastOccupied = new HashMap<String, Long>();
+        this.oldGenPool = findOldGenPool();
+    }
+
+    /**
+     * Starts checking the worlds.
+     */
+    public void start() {
+        this.plugin.getServer().getScheduler().runTaskTimer(this.plugin, this, CHECK_INTERVAL, CHECK_INTERVAL);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void run() {
+        int idleMinutes = this.plugin.getMVConfig().getIdleUnloadMinutes();
+        double heapThreshold = this.plugin.getMVConfig().getIdleUnloadHeapThreshold();
+        if (idleMinutes < 0 && heapThreshold <= 0) {
+            this.lastOccupied.clear();
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        List<MultiverseWorld> emptyWorlds = this.updateLastOccupied(now);
+        if (emptyWorlds.isEmpty()) {
+            return;
+        }
+
+        // Longest idle first.
+        emptyWorlds.sort((a, b) -> Long.compare(this.lastOccupied.get(a.getName()), this.lastOccupied.get(b.getName())));
+
+        if (idleMinutes >= 0) {
+            long maxIdle = TimeUnit.MINUTES.toMillis(idleMinutes);
+            for (MultiverseWorld world : new ArrayList<MultiverseWorld>(emptyWorlds)) {
+                if (now - this.lastOccupied.get(world.getName()) < maxIdle) {
+                    break;
+                }
+                Logging.info("World '%s' has been empty for %d minute(s), unloading it.", world.getName(),
+                        TimeUnit.MILLISECONDS.toMinutes(now - this.lastOccupied.get(world.getName())));
+                if (this.unload(world)) {
+                    emptyWorlds.remove(world);
+                }
+            }
+        }
+
+        if (heapThreshold > 0 && !emptyWorlds.isEmpty()) {
+            double heapUsage = this.getHeapUsage();
+            if (heapUsage >= heapThreshold) {
+                // One world per check, the memory is only given back after the next collection anyway.
+                MultiverseWorld world = emptyWorlds.get(0);
+                Logging.info("Heap usage is at %.0f%%, unloading the longest empty world '%s'.",
+                        heapUsage * 100, world.getName()); // SUPPRESS CHECKSTYLE: MagicNumberCheck
+                this.unload(world);
+            }
+        }
+    }
+
+    /**
+     * Records which worlds are occupied right now.
+     *
+     * @param now The current time.
+     * @return The empty worlds that may be unloaded.
+     */
+    private List<MultiverseWorld> updateLastOccupied(long now) {
+        Set<String> protectedWorlds = this.getProtectedWorlds();
+        List<MultiverseWorld> emptyWorlds = new ArrayList<MultiverseWorld>();
+        Set<String> seen = new HashSet<String>();
+        for (MultiverseWorld world : this.plugin.getMVWorldManager().getMVWorlds()) {
+            String name = world.getName();
+            seen.add(name);
+            World cbWorld = this.plugin.getServer().getWorld(name);
+            if (cbWorld == null || !cbWorld.getPlayers().isEmpty() || !this.lastOccupied.containsKey(name)) {
+                // Worlds we haven't seen before count as just occupied, so they get a full grace period.
+                this.lastOccupied.put(name, now);
+                continue;
+            }
+            if (world.getLazyLoad() && !protectedWorlds.contains(name)
+                    && !this.plugin.getMVWorldManager().isPooledWorld(name)) {
+                emptyWorlds.add(world);
+            }
+        }
+        this.lastOccupied.keySet().retainAll(seen);
+        return emptyWorlds;
+    }
+
+    /**
+     * Gets the worlds that must never be unloaded.
+     *
+     * @return The names of the protected worlds.
+     */
+    private Set<String> getProtectedWorlds() {
+        Set<String> protectedWorlds = new HashSet<String>();
+        List<World> bukkitWorlds = this.plugin.getServer().getWorlds();
+        if (!bukkitWorlds.isEmpty()) {
+            protectedWorlds.add(bukkitWorlds.get(0).getName());
+        }
+        String firstSpawnWorld = this.plugin.getMVConfig().getFirstSpawnWorld();
+        if (firstSpawnWorld != null) {
+            protectedWorlds.add(firstSpawnWorld);
+        }
+        for (MultiverseWorld world : this.plugin.getMVWorldManager().getMVWorlds()) {
+            World respawnWorld = world.getRespawnToWorld();
+            if (respawnWorld != null) {
+                protectedWorlds.add(respawnWorld.getName());
+            }
+        }
+        return protectedWorlds;
+    }
+
+    private boolean unload(MultiverseWorld world) {
+        String name = world.getName();
+        if (this.plugin.getMVWorldManager().unloadWorld(name, true)) {
+            this.lastOccupied.remove(name);
+            return true;
+        }
+        Logging.warning("Could not unload idle world '%s'.", name);
+        // Don't try again on every check.
+        this.lastOccupied.put(name, System.currentTimeMillis());
+        return false;
+    }
+
+    /**
+     * Gets how full the old generation heap is.
+     *
+     * @return The used fraction of the old generation, or of the whole heap if there is no such pool.
+     */
+    private double getHeapUsage() {
+        MemoryUsage usage = (this.oldGenPool != null) ? this.oldGenPool.getUsage()
+                : ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long max = usage.getMax() > 0 ? usage.getMax() : usage.getCommitted();
+        return max > 0 ? (double) usage.getUsed() / max : 0D;
+    }
+
+    /**
+     * Finds the heap pool that holds long-lived objects, which is where unloaded worlds free memory.
+     *
+     * @return The pool or null if none could be found.
+     */
+    private static MemoryPoolMXBean findOldGenPool() {
+        MemoryPoolMXBean best = null;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            // Only the tenured pool supports usage thresholds, the eden and survivor spaces don't.
+            if (pool.getType() == MemoryType.HEAP && pool.isUsageThresholdSupported()
+                    && (best == null || pool.getUsage().getMax() > best.getUsage().getMax())) {
+                best = pool;
+            }
+        }
+        return best;
+    }
+}
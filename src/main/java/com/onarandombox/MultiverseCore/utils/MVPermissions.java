@@ -8,10 +8,12 @@
 package com.onarandombox.MultiverseCore.utils;
 
 import com.dumptruckman.minecraft.util.Logging;
+import com.onarandombox.MultiverseCore.MVWorld;
 import com.onarandombox.MultiverseCore.MultiverseCore;
 import com.onarandombox.MultiverseCore.api.MVDestination;
 import com.onarandombox.MultiverseCore.api.MVWorldManager;
 import com.onarandombox.MultiverseCore.api.MultiverseWorld;
+import com.onarandombox.MultiverseCore.enums.WorldPermission;
 import com.pneumaticraft.commandhandler.PermissionsInterface;
 import org.bukkit.ChatColor;
 import org.bukkit.Location;
@@ -20,15 +22,29 @@ import org.bukkit.entity.Player;
 import org.bukkit.permissions.Permission;
 import org.bukkit.permissions.PermissionDefault;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Multiverse's {@link PermissionsInterface}.
  */
 public class MVPermissions implements PermissionsInterface {
+    /**
+     * How long the world permission decisions of a player are remembered, in milliseconds.
+     * Bukkit doesn't tell us when other plugins change the permissions of a player, so they can't be kept forever.
+     */
+    public static final long DECISION_TTL = TimeUnit.SECONDS.toMillis(5L);
+
+    private static final byte GRANTED = 1;
+    private static final byte DENIED = 2;
 
     private MultiverseCore plugin;
     private MVWorldManager worldMgr;
+    private final Map<UUID, Decisions> decisions = new ConcurrentHashMap<UUID, Decisions>();
 
     public MVPermissions(MultiverseCore plugin) {
         this.plugin = plugin;
@@ -44,7 +60,7 @@ public class MVPermissions implements PermissionsInterface {
      * @return True if they should bypass restrictions.
      */
     public boolean canIgnoreGameModeRestriction(Player p, MultiverseWorld w) {
-        return p.hasPermission("mv.bypass.gamemode." + w.getName());
+        return this.hasWorldPermission(p, w, WorldPermission.GAMEMODE_BYPASS);
     }
 
     /**
@@ -103,7 +119,7 @@ public class MVPermissions implements PermissionsInterface {
             Logging.finest("EnforceAccess is OFF. Player was allowed in " + w.getAlias());
             return true;
         }
-        return this.hasPermission(p, "multiverse.access." + w.getName(), false);
+        return this.hasWorldPermission(p, w, WorldPermission.ACCESS);
     }
 
     private boolean canEnterLocation(Player p, Location l) {
@@ -114,7 +130,7 @@ public class MVPermissions implements PermissionsInterface {
         if (!this.plugin.getMVWorldManager().isMVWorld(worldName)) {
             return false;
         }
-        return this.hasPermission(p, "multiverse.access." + worldName, false);
+        return this.hasWorldPermission(p, worldName, WorldPermission.ACCESS);
     }
 
     /**
@@ -251,6 +267,85 @@ public class MVPermissions implements PermissionsInterface {
         return checkActualPermission(sender, node);
     }
 
+    /**
+     * Check to see if a player has one of the permissions of a world. The answer is remembered
+     * until the player changes worlds, leaves, worlds are loaded or unloaded, or {@link #DECISION_TTL} passes.
+     *
+     * @param sender Who is requesting the permission.
+     * @param w      The {@link MultiverseWorld}.
+     * @param kind   Which of the world's permissions.
+     * @return True if they have that permission.
+     */
+    public boolean hasWorldPermission(CommandSender sender, MultiverseWorld w, WorldPermission kind) {
+        String node = (w instanceof MVWorld) ? ((MVWorld) w).getPermissionNode(kind) : null;
+        return this.hasWorldPermission(sender, w.getName(), kind, node);
+    }
+
+    /**
+     * Check to see if a player has one of the permissions of a world, which doesn't have to be loaded.
+     *
+     * @param sender    Who is requesting the permission.
+     * @param worldName The name of the world.
+     * @param kind      Which of the world's permissions.
+     * @return True if they have that permission.
+     * @see #hasWorldPermission(CommandSender, MultiverseWorld, WorldPermission)
+     */
+    public boolean hasWorldPermission(CommandSender sender, String worldName, WorldPermission kind) {
+        return this.hasWorldPermission(sender, worldName, kind, null);
+    }
+
+    private boolean hasWorldPermission(CommandSender sender, String worldName, WorldPermission kind, String node) {
+        if (!(sender instanceof Player)) {
+            return true;
+        }
+        Player player = (Player) sender;
+        if (player.getUniqueId() == null || !this.plugin.getServer().isPrimaryThread()) {
+            // The decisions are only kept for the main thread.
+            return this.checkActualPermission(player, (node != null) ? node : kind.getNode(worldName));
+        }
+        Decisions playerDecisions = this.getDecisions(player);
+        byte[] worldDecisions = playerDecisions.worlds.get(worldName);
+        if (worldDecisions == null) {
+            worldDecisions = new byte[WorldPermission.values().length];
+            playerDecisions.worlds.put(worldName, worldDecisions);
+        }
+        byte decision = worldDecisions[kind.ordinal()];
+        if (decision == 0) {
+            boolean granted = this.checkActualPermission(player, (node != null) ? node : kind.getNode(worldName));
+            decision = granted ? GRANTED : DENIED;
+            worldDecisions[kind.ordinal()] = decision;
+        }
+        return decision == GRANTED;
+    }
+
+    private Decisions getDecisions(Player player) {
+        long now = System.currentTimeMillis();
+        Decisions playerDecisions = this.decisions.get(player.getUniqueId());
+        if (playerDecisions == null || now - playerDecisions.createdAt > DECISION_TTL) {
+            playerDecisions = new Decisions(now);
+            this.decisions.put(player.getUniqueId(), playerDecisions);
+        }
+        return playerDecisions;
+    }
+
+    /**
+     * Forgets the world permission decisions of a player.
+     *
+     * @param player The {@link Player}.
+     */
+    public void invalidate(Player player) {
+        if (player.getUniqueId() != null) {
+            this.decisions.remove(player.getUniqueId());
+        }
+    }
+
+    /**
+     * Forgets the world permission decisions of all players.
+     */
+    public void invalidateAll() {
+        this.decisions.clear();
+    }
+
     // TODO: Better player checks, most likely not needed, but safer.
     private boolean checkActualPermission(CommandSender sender, String node) {
         Player player = (Player) sender;
@@ -355,6 +450,8 @@ public class MVPermissions implements PermissionsInterface {
             Permission permission = new Permission(string, defaultValue);
             this.plugin.getServer().getPluginManager().addPermission(permission);
             this.addToParentPerms(string);
+            // The defaults of the parents changed.
+            this.invalidateAll();
         }
         return this.plugin.getServer().getPluginManager().getPermission(string);
     }
@@ -414,4 +511,16 @@ public class MVPermissions implements PermissionsInterface {
         }
         return returnString + "*";
     }
+
+    /**
+     * The world permission decisions of one player.
+     */
+    private static final class Decisions {
+        private final long createdAt;
+        private final Map<String, byte[]> worlds = new HashMap<String, byte[]>();
+
+        Decisions(long createdAt) {
+            this.createdAt = createdAt;
+        }
+    }
 }
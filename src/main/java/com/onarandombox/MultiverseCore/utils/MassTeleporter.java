@@ -0,0 +1,176 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.utils;
+
+import com.dumptruckman.minecraft.util.Logging;
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.IllegalPluginAccessException;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves a lot of players to the same place without freezing the server.
+ * <p>
+ * The safe location is looked up once for the whole batch, off the main thread, and only checked again on each
+ * tick. The players are then teleported on as many ticks as it takes to stay within {@link #TELEPORT_TICK_BUDGET}.
+ */
+public class MassTeleporter {
+    /**
+     * How long teleporting may take on each tick.
+     */
+    public static final long TELEPORT_TICK_BUDGET = TimeUnit.MILLISECONDS.toNanos(5L);
+
+    private final MultiverseCore plugin;
+    private final ChunkPreloader preloader;
+
+    public MassTeleporter(MultiverseCore plugin, ChunkPreloader preloader) {
+        this.plugin = plugin;
+        this.preloader = preloader;
+    }
+
+    /**
+     * Teleports players to a location. This has to be called from the main thread.
+     *
+     * @param players The players.
+     * @param location Where to send them.
+     * @param safely Whether to look for a safe location near the given one.
+     * @param preloadRadius How many blocks around the location have to be loaded first.
+     * @return A future that completes on the main thread with the number of players that were teleported.
+     */
+    public CompletableFuture<Integer> teleport(Collection<? extends Player> players, Location location,
+                                               boolean safely, int preloadRadius) {
+        if (players.isEmpty()) {
+            return CompletableFuture.completedFuture(0);
+        }
+        final Batch batch = new Batch(players, location, safely);
+        if (location == null || location.getWorld() == null) {
+            batch.run();
+            return batch.future;
+        }
+        CompletableFuture<Void> ready = this.preloader.preload(location, preloadRadius);
+        if (safely) {
+            ready = ready.thenCompose(loaded -> plugin.getSafeTTeleporter().getSafeLocationAsync(location,
+                    SimpleSafeTTeleporter.DEFAULT_TOLERANCE, SimpleSafeTTeleporter.DEFAULT_RADIUS))
+                    .thenAccept(batch::searched);
+        }
+        ready.whenComplete((done, error) -> {
+            if (error != null) {
+                Logging.severe("Could not get %d players ready to teleport: %s", players.size(), error);
+                batch.future.completeExceptionally(error);
+            } else {
+                batch.run();
+            }
+        });
+        return batch.future;
+    }
+
+    private final class Batch implements Runnable {
+        private final Deque<Player> players;
+        private final Location location;
+        private final boolean safely;
+        private final CompletableFuture<Integer> future;
+        private final long startTime;
+        private Location target;
+        private boolean searched;
+        private int teleported;
+
+        Batch(Collection<? extends Player> players, Location location, boolean safely) {
+            this.players = new ArrayDeque<Player>(players);
+            this.location = location;
+            this.safely = safely;
+            this.future = new CompletableFuture<Integer>();
+            this.startTime = System.nanoTime();
+        }
+
+        @Override
+        public void run() {
+            try {
+                this.teleportSome();
+            } catch (RuntimeException e) {
+                Logging.severe("Teleporting %d players failed: %s", this.players.size(), e);
+                this.future.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Teleports players until the budget of this tick is used up.
+         */
+        private void teleportSome() {
+            if (!this.updateTarget()) {
+                Logging.warning("Could not find a safe location to send %d players to.", this.players.size());
+                this.finish();
+                return;
+            }
+            long deadline = System.nanoTime() + TELEPORT_TICK_BUDGET;
+            do {
+                this.teleportNext();
+            } while (!this.players.isEmpty() && System.nanoTime() < deadline);
+            if (this.players.isEmpty()) {
+                this.finish();
+                return;
+            }
+            try {
+                plugin.getServer().getScheduler().runTask(plugin, this);
+            } catch (IllegalPluginAccessException e) {
+                // We're being disabled, no time to wait.
+                while (!this.players.isEmpty()) {
+                    this.teleportNext();
+                }
+                this.finish();
+            }
+        }
+
+        /**
+         * Takes the safe location that was looked up before the first tick.
+         *
+         * @param safe The safe location, or null if there is none.
+         */
+        void searched(Location safe) {
+            this.target = safe;
+            this.searched = true;
+        }
+
+        private void teleportNext() {
+            Player player = this.players.poll();
+            // Players who left in the meantime are just skipped.
+            if (player.isOnline() && player.teleport(this.target)) {
+                this.teleported++;
+            }
+        }
+
+        /**
+         * Makes sure the shared target is still safe, the world may have changed since the last tick.
+         *
+         * @return True if there is somewhere to send the players.
+         */
+        private boolean updateTarget() {
+            if (this.location == null) {
+                return false;
+            }
+            if (!this.safely) {
+                this.target = this.location;
+            } else if (this.target == null ? !this.searched
+                    : !plugin.getBlockSafety().playerCanSpawnHereSafely(this.target)) {
+                this.target = plugin.getSafeTTeleporter().getSafeLocation(this.location);
+            }
+            return this.target != null;
+        }
+
+        private void finish() {
+            Logging.fine("Teleported %d players in %d ms.", this.teleported,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.startTime));
+            this.future.complete(this.teleported);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.utils;
+
+import org.bukkit.Material;
+
+/**
+ * What {@link SimpleBlockSafety} needs to know about each {@link Material}, worked out once.
+ */
+public final class MaterialFlags {
+    /**
+     * Players can't stand inside the block.
+     */
+    public static final int SOLID = 1;
+    /**
+     * Standing on the block hurts.
+     */
+    public static final int HAZARDOUS = 1 << 1;
+    /**
+     * Deep enough water breaks a fall.
+     */
+    public static final int LIQUID = 1 << 2;
+    /**
+     * Air, players fall through it.
+     */
+    public static final int PASSABLE = 1 << 3;
+    /**
+     * We don't know the block, for example because its chunk isn't available.
+     */
+    public static final int UNKNOWN = 1 << 4;
+
+    private static final byte[] FLAGS;
+
+    static {
+        Material[] materials = Material.values();
+        FLAGS = new byte[materials.length];
+        for (Material material : materials) {
+            int flags = 0;
+            if (material.isSolid()) {
+                flags |= SOLID;
+            }
+            if (material == Material.LAVA || material == Material.FIRE) {
+                flags |= HAZARDOUS;
+            }
+            if (material == Material.WATER) {
+                flags |= LIQUID;
+            }
+            // Newer versions have more kinds of air that are just as empty.
+            if (material == Material.AIR || material.name().equals("CAVE_AIR") || material.name().equals("VOID_AIR")) {
+                flags |= PASSABLE;
+            }
+            FLAGS[material.ordinal()] = (byte) flags;
+        }
+    }
+
+    private MaterialFlags() { }
+
+    /**
+     * Gets the flags of a material.
+     *
+     * @param material The {@link Material}, null if it's unknown.
+     * @return The flags.
+     */
+    public static int of(Material material) {
+        return material == null ? UNKNOWN : FLAGS[material.ordinal()];
+    }
+
+    /**
+     * Checks whether a material has a flag.
+     *
+     * @param material The {@link Material}, null if it's unknown.
+     * @param flag The flag.
+     * @return True if the material has the flag.
+     */
+    public static boolean is(Material material, int flag) {
+        return (of(material) & flag) != 0;
+    }
+}
@@ -10,6 +10,7 @@ package com.onarandombox.MultiverseCore.utils;
 import com.dumptruckman.minecraft.util.Logging;
 import com.onarandombox.MultiverseCore.MultiverseCore;
 import com.onarandombox.MultiverseCore.api.MultiverseWorld;
+import com.onarandombox.MultiverseCore.enums.WorldPermission;
 import org.bukkit.Material;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.ConsoleCommandSender;
@@ -140,7 +141,7 @@ public class PermissionTools {
                 return true;
             }
             // If the player does not have to pay, return now.
-            if (this.plugin.getMVPerms().hasPermission(teleporter, toWorld.getExemptPermission().getName(), true)) {
+            if (this.plugin.getMVPerms().hasWorldPermission(teleporter, toWorld, WorldPermission.EXEMPT)) {
                 return true;
             }
 
@@ -274,7 +275,7 @@ public class PermissionTools {
         }
 
         MVPermissions perms = plugin.getMVPerms();
-        if (perms.hasPermission(teleportee, "mv.bypass.playerlimit." + toWorld.getName(), false)) {
+        if (perms.hasWorldPermission(teleportee, toWorld, WorldPermission.PLAYERLIMIT_BYPASS)) {
             return true;
         } else {
             teleporter.sendMessage("The world " + toWorld.getColoredWorldString() + " is full");
@@ -0,0 +1,185 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.utils;
+
+import com.dumptruckman.minecraft.util.Logging;
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import org.bukkit.plugin.IllegalPluginAccessException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps track of the folders in the world container that look like worlds.
+ * <p>
+ * The container and every folder in it are watched for new and removed files, so the index stays
+ * up to date without listing the container each time it is asked. Everything is rescanned now and
+ * then in case the file system missed an event. Rescans and single changes are applied one at a time,
+ * so a change seen while rescanning isn't lost.
+ */
+public class PotentialWorldIndex implements Runnable {
+    /**
+     * How often everything is rescanned, in ticks.
+     */
+    public static final long RECONCILE_INTERVAL = 20L * 60L * 5L;
+
+    private static final long POLL_TIMEOUT = 5L;
+
+    private final MultiverseCore plugin;
+    private volatile Set<String> worldFolders;
+    private volatile boolean started;
+    private WatchService watchService;
+    private Path container;
+
+    public PotentialWorldIndex(MultiverseCore plugin) {
+        this.plugin = plugin;
+        this.worldFolders = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Gets the names of the folders that look like worlds. The first call scans the container
+     * and starts watching it.
+     *
+     * @return The folder names.
+     */
+    public Set<String> getWorldFolders() {
+        if (!this.started) {
+            this.start();
+        }
+        return Collections.unmodifiableSet(this.worldFolders);
+    }
+
+    private synchronized void start() {
+        if (this.started) {
+            return;
+        }
+        File worldContainer = this.plugin.getServer().getWorldContainer();
+        if (worldContainer == null) {
+            return;
+        }
+        this.container = worldContainer.toPath();
+        this.started = true;
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+            this.register(this.container);
+            Thread thread = new Thread(this::watch, "Multiverse-WorldWatcher");
+            thread.setDaemon(true);
+            thread.start();
+        } catch (IOException | UnsupportedOperationException e) {
+            Logging.fine("Can't watch the world container, relying on rescans: %s", e.getMessage());
+            this.watchService = null;
+        }
+        this.reconcile();
+        try {
+            this.plugin.getServer().getScheduler().runTaskTimerAsynchronously(this.plugin, this,
+                    RECONCILE_INTERVAL, RECONCILE_INTERVAL);
+        } catch (IllegalPluginAccessException e) {
+            Logging.fine("Could not schedule rescanning the world container: %s", e.getMessage());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void run() {
+        this.reconcile();
+    }
+
+    /**
+     * Lists the container again and replaces the index with what was found.
+     */
+    private synchronized void reconcile() {
+        File[] folders = this.container.toFile().listFiles(File::isDirectory);
+        if (folders == null) {
+            return;
+        }
+        Set<String> found = ConcurrentHashMap.newKeySet(folders.length);
+        for (File folder : folders) {
+            if (this.watchService != null) {
+                this.register(folder.toPath());
+            }
+            if (WorldNameChecker.isValidWorldFolder(folder)) {
+                found.add(folder.getName());
+            }
+        }
+        // Readers see either the old or the new index, never one that is half done.
+        this.worldFolders = found;
+    }
+
+    private void watch() {
+        try {
+            while (this.plugin.isEnabled()) {
+                WatchKey key = this.watchService.poll(POLL_TIMEOUT, TimeUnit.SECONDS);
+                if (key == null) {
+                    continue;
+                }
+                Path dir = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        this.reconcile();
+                        continue;
+                    }
+                    Path changed = dir.resolve((Path) event.context());
+                    if (dir.equals(this.container)) {
+                        // A folder was added or removed.
+                        if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && changed.toFile().isDirectory()) {
+                            this.register(changed);
+                        }
+                        this.check(changed.toFile());
+                    } else {
+                        // Something changed in a folder, maybe it got its level.dat.
+                        this.check(dir.toFile());
+                    }
+                }
+                if (!key.reset() && !dir.equals(this.container)) {
+                    this.forget(dir.getFileName().toString());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ignored) {
+        } finally {
+            try {
+                this.watchService.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private synchronized void check(File folder) {
+        if (WorldNameChecker.isValidWorldFolder(folder)) {
+            this.worldFolders.add(folder.getName());
+        } else {
+            this.worldFolders.remove(folder.getName());
+        }
+    }
+
+    private synchronized void forget(String name) {
+        this.worldFolders.remove(name);
+    }
+
+    private void register(Path dir) {
+        try {
+            dir.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException | ClosedWatchServiceException e) {
+            Logging.finest("Could not watch '%s': %s", dir, e.getMessage());
+        }
+    }
+}
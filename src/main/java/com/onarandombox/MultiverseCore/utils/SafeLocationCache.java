@@ -0,0 +1,443 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.utils;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockBurnEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFadeEvent;
+import org.bukkit.event.block.BlockFormEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockIgniteEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.block.LeavesDecayEvent;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.world.StructureGrowEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers where the safe location search ended up, so searches around the same block don't have to be redone.
+ * <p>
+ * Every chunk an entry looked at remembers when a block in it last changed. An entry is only used if none of
+ * its chunks changed since it was made, and not after {@link #TTL} has passed. The least recently used entries
+ * make room for new ones. This is only used from the main thread.
+ */
+public class SafeLocationCache implements Listener {
+    /**
+     * How many searches are remembered.
+     */
+    public static final int MAX_ENTRIES = 512;
+    /**
+     * How long a search is remembered, in milliseconds.
+     */
+    public static final long TTL = TimeUnit.MINUTES.toMillis(5L);
+
+    private final Map<Key, Entry> entries;
+    private final Map<UUID, Map<Long, Long>> chunkChanges;
+    private int trackedChunks;
+    private long clock;
+    private long hits;
+    private long misses;
+
+    public SafeLocationCache() {
+        this.entries = new LinkedHashMap<Key, Entry>(MAX_ENTRIES, 0.75f, true) { // SUPPRESS CHECKSTYLE: MagicNumberCheck
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return this.size() > MAX_ENTRIES;
+            }
+        };
+        this.chunkChanges = new HashMap<UUID, Map<Long, Long>>();
+    }
+
+    /**
+     * Gets the result of an earlier search.
+     *
+     * @param l The {@link Location} that was searched around.
+     * @param tolerance The tolerance of the search.
+     * @param radius The radius of the search.
+     * @return The result, or null if the search has to be done.
+     */
+    public Entry get(Location l, int tolerance, int radius) {
+        if (l.getWorld() == null || l.getWorld().getUID() == null) {
+            return null;
+        }
+        Key key = new Key(l, tolerance, radius);
+        Entry entry = this.entries.get(key);
+        if (entry != null && (System.currentTimeMillis() - entry.createdAt > TTL || this.changedSince(key, entry.stamp))) {
+            this.entries.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            this.misses++;
+        } else {
+            this.hits++;
+        }
+        return entry;
+    }
+
+    /**
+     * Gets the current point in time, for {@link #put(Location, int, int, Location, long)}.
+     *
+     * @return The number of block changes seen so far.
+     */
+    public long getStamp() {
+        return this.clock;
+    }
+
+    /**
+     * Remembers the result of a search.
+     *
+     * @param l The {@link Location} that was searched around.
+     * @param tolerance The tolerance of the search.
+     * @param radius The radius of the search.
+     * @param safe The safe location found, or null if there was none.
+     * @param stamp {@link #getStamp()} from before looking at the world.
+     */
+    public void put(Location l, int tolerance, int radius, Location safe, long stamp) {
+        if (l.getWorld() == null || l.getWorld().getUID() == null) {
+            return;
+        }
+        Key key = new Key(l, tolerance, radius);
+        int[] offset = null;
+        if (safe != null) {
+            offset = new int[] {
+                    safe.getBlockX() - key.x, safe.getBlockY() - key.y, safe.getBlockZ() - key.z };
+        }
+        Map<Long, Long> changes = this.chunkChanges.get(key.world);
+        if (changes == null) {
+            changes = new HashMap<Long, Long>();
+            this.chunkChanges.put(key.world, changes);
+        }
+        for (long chunk : key.getChunks()) {
+            if (changes.putIfAbsent(chunk, 0L) == null) {
+                this.trackedChunks++;
+            }
+        }
+        this.entries.put(key, new Entry(offset, stamp));
+        if (this.trackedChunks > MAX_ENTRIES * 4) { // SUPPRESS CHECKSTYLE: MagicNumberCheck
+            this.forgetUnusedChunks();
+        }
+    }
+
+    /**
+     * Forgets the result of a search, for when it turned out to be wrong.
+     *
+     * @param l The {@link Location} that was searched around.
+     * @param tolerance The tolerance of the search.
+     * @param radius The radius of the search.
+     */
+    public void remove(Location l, int tolerance, int radius) {
+        if (l.getWorld() == null || l.getWorld().getUID() == null) {
+            return;
+        }
+        this.entries.remove(new Key(l, tolerance, radius));
+    }
+
+    /**
+     * Forgets every search.
+     */
+    public void clear() {
+        this.entries.clear();
+        this.chunkChanges.clear();
+        this.trackedChunks = 0;
+    }
+
+    /**
+     * Gets how often a search could be skipped.
+     *
+     * @return The number of hits.
+     */
+    public long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Gets how often a search had to be done.
+     *
+     * @return The number of misses.
+     */
+    public long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Gets how many searches are remembered right now.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Marks the chunk of a block as changed.
+     *
+     * @param block The {@link Block} that changed.
+     */
+    public void blockChanged(Block block) {
+        this.chunkChanged(block.getWorld(), block.getX() >> 4, block.getZ() >> 4);
+    }
+
+    private void chunkChanged(World world, int chunkX, int chunkZ) {
+        Map<Long, Long> changes = this.chunkChanges.get(world.getUID());
+        if (changes == null) {
+            return;
+        }
+        Long chunk = chunkKey(chunkX, chunkZ);
+        // Only chunks that a remembered search looked at are of interest.
+        if (changes.containsKey(chunk)) {
+            changes.put(chunk, ++this.clock);
+        }
+    }
+
+    private boolean changedSince(Key key, long stamp) {
+        Map<Long, Long> changes = this.chunkChanges.get(key.world);
+        if (changes == null) {
+            return false;
+        }
+        for (long chunk : key.getChunks()) {
+            Long changed = changes.get(chunk);
+            if (changed != null && changed > stamp) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void forgetUnusedChunks() {
+        Map<UUID, Set<Long>> used = new HashMap<UUID, Set<Long>>();
+        for (Key key : this.entries.keySet()) {
+            Set<Long> chunks = used.get(key.world);
+            if (chunks == null) {
+                chunks = new HashSet<Long>();
+                used.put(key.world, chunks);
+            }
+            for (long chunk : key.getChunks()) {
+                chunks.add(chunk);
+            }
+        }
+        this.trackedChunks = 0;
+        Iterator<Map.Entry<UUID, Map<Long, Long>>> it = this.chunkChanges.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<UUID, Map<Long, Long>> world = it.next();
+            Set<Long> chunks = used.get(world.getKey());
+            if (chunks == null) {
+                it.remove();
+                continue;
+            }
+            world.getValue().keySet().retainAll(chunks);
+            this.trackedChunks += world.getValue().size();
+        }
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private void blocksChanged(List<Block> blocks) {
+        for (Block block : blocks) {
+            this.blockChanged(block);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void blockBreak(BlockBreakEvent event) {
+        this.blockChanged(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void blockPlace(BlockPlaceEvent event) {
+        this.blockChanged(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void blockBurn(BlockBurnEvent event) {
+        this.blockChanged(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void blockIgnite(BlockIgniteEvent event) {
+        this.blockChanged(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void blockFade(BlockFadeEvent event) {
+        this.blockChanged(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void blockForm(BlockFormEvent event) {
+        this.blockChanged(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void blockFromTo(BlockFromToEvent event) {
+        this.blockChanged(event.getToBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void leavesDecay(LeavesDecayEvent event) {
+        this.blockChanged(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void pistonExtend(BlockPistonExtendEvent event) {
+        this.blockChanged(event.getBlock());
+        this.blocksChanged(event.getBlocks());
+        this.blockChanged(event.getBlock().getRelative(event.getDirection(), event.getBlocks().size() + 1));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void pistonRetract(BlockPistonRetractEvent event) {
+        this.blockChanged(event.getBlock());
+        this.blocksChanged(event.getBlocks());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void entityChangeBlock(EntityChangeBlockEvent event) {
+        this.blockChanged(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void entityExplode(EntityExplodeEvent event) {
+        this.blocksChanged(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void blockExplode(BlockExplodeEvent event) {
+        this.blocksChanged(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void structureGrow(StructureGrowEvent event) {
+        for (BlockState state : event.getBlocks()) {
+            this.chunkChanged(state.getWorld(), state.getX() >> 4, state.getZ() >> 4);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void worldUnload(WorldUnloadEvent event) {
+        UUID world = event.getWorld().getUID();
+        this.entries.keySet().removeIf(key -> key.world.equals(world));
+        Map<Long, Long> changes = this.chunkChanges.remove(world);
+        if (changes != null) {
+            this.trackedChunks -= changes.size();
+        }
+    }
+
+    /**
+     * The result of a search.
+     */
+    public static final class Entry {
+        private final int[] offset;
+        private final long stamp;
+        private final long createdAt;
+
+        private Entry(int[] offset, long stamp) {
+            this.offset = offset;
+            this.stamp = stamp;
+            this.createdAt = System.currentTimeMillis();
+        }
+
+        /**
+         * Gets the safe location for a search around the given location.
+         *
+         * @param l The {@link Location} that was searched around.
+         * @return The safe {@link Location}, or null if the search didn't find one.
+         */
+        public Location getSafeLocation(Location l) {
+            if (this.offset == null) {
+                return null;
+            }
+            Location safe = l.clone().add(this.offset[0], this.offset[1], this.offset[2]);
+            safe.setX(safe.getBlockX() + .5); // SUPPRESS CHECKSTYLE: MagicNumberCheck
+            safe.setZ(safe.getBlockZ() + .5); // SUPPRESS CHECKSTYLE: MagicNumberCheck
+            return safe;
+        }
+    }
+
+    private static final class Key {
+        private final UUID world;
+        private final int x;
+        private final int y;
+        private final int z;
+        private final int tolerance;
+        private final int radius;
+
+        Key(Location l, int tolerance, int radius) {
+            this.world = l.getWorld().getUID();
+            this.x = l.getBlockX();
+            this.y = l.getBlockY();
+            this.z = l.getBlockZ();
+            this.tolerance = tolerance;
+            this.radius = radius;
+        }
+
+        /**
+         * Gets the chunks the search looks at.
+         */
+        long[] getChunks() {
+            int half = radius / 2;
+            int minChunkX = (this.x - half) >> 4;
+            int maxChunkX = (this.x + half) >> 4;
+            int minChunkZ = (this.z - half) >> 4;
+            int maxChunkZ = (this.z + half) >> 4;
+            long[] chunks = new long[(maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1)];
+            int i = 0;
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                    chunks[i++] = chunkKey(chunkX, chunkZ);
+                }
+            }
+            return chunks;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return this.x == other.x && this.y == other.y && this.z == other.z && this.tolerance == other.tolerance
+                    && this.radius == other.radius && this.world.equals(other.world);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = this.world.hashCode();
+            result = 31 * result + this.x; // SUPPRESS CHECKSTYLE: MagicNumberCheck
+            result = 31 * result + this.y; // SUPPRESS CHECKSTYLE: MagicNumberCheck
+            result = 31 * result + this.z; // SUPPRESS CHECKSTYLE: MagicNumberCheck
+            result = 31 * result + this.tolerance; // SUPPRESS CHECKSTYLE: MagicNumberCheck
+            return 31 * result + this.radius; // SUPPRESS CHECKSTYLE: MagicNumberCheck
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.utils;
+
+import com.dumptruckman.minecraft.util.Logging;
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.plugin.IllegalPluginAccessException;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Looks for safe locations the same way {@link SimpleSafeTTeleporter#getSafeLocation(Location, int, int)} does,
+ * but without touching the world while searching.
+ * <p>
+ * Snapshots of the chunks around the location are taken on the main thread, loading at most one
+ * missing chunk per tick. The search itself runs off the main thread against the snapshots, and only
+ * the location it finds is checked again on the main thread before it is handed out.
+ */
+public class SafeLocationSearch {
+    private final MultiverseCore plugin;
+    private final SafeLocationCache cache;
+
+    public SafeLocationSearch(MultiverseCore plugin, SafeLocationCache cache) {
+        this.plugin = plugin;
+        this.cache = cache;
+    }
+
+    /**
+     * Starts looking for a safe location. This has to be called from the main thread.
+     *
+     * @param l The {@link Location} to look around.
+     * @param tolerance How far to look up and down.
+     * @param radius How far to look around.
+     * @return A future that completes on the main thread with the safe location, or null if there is none.
+     */
+    public CompletableFuture<Location> search(Location l, int tolerance, int radius) {
+        SafeLocationCache.Entry cached = this.cache.get(l, tolerance, radius);
+        if (cached != null) {
+            Location safe = cached.getSafeLocation(l);
+            // Not every change to the world is seen by the cache, so make sure it is still safe.
+            if (safe == null || plugin.getBlockSafety().playerCanSpawnHereSafely(safe)) {
+                return CompletableFuture.completedFuture(safe);
+            }
+            Logging.finer("The remembered safe location isn't safe anymore, looking again.");
+            this.cache.remove(l, tolerance, radius);
+        }
+        Search search = new Search(l, tolerance, radius);
+        search.start();
+        return search.future;
+    }
+
+    /**
+     * Gets the offsets of the blocks that are checked on one level, in the order they are checked.
+     *
+     * @param diameter The diameter of the search, has to be odd.
+     * @return The x and z offsets.
+     */
+    static List<int[]> getRingOffsets(int diameter) {
+        List<int[]> offsets = new ArrayList<int[]>(diameter * diameter);
+        // Start at 3, the min diameter around a block
+        for (int circle = 3; circle <= diameter; circle += 2) {
+            int adjustedCircle = (circle - 1) / 2;
+            int x = adjustedCircle;
+            int z = 0;
+            offsets.add(new int[] { x, z });
+            for (int i = 0; i < adjustedCircle; i++) {
+                offsets.add(new int[] { x, ++z });
+            }
+            for (int i = 0; i < adjustedCircle * 2; i++) {
+                offsets.add(new int[] { --x, z });
+            }
+            for (int i = 0; i < adjustedCircle * 2; i++) {
+                offsets.add(new int[] { x, --z });
+            }
+            for (int i = 0; i < adjustedCircle * 2; i++) {
+                offsets.add(new int[] { ++x, z });
+            }
+            for (int i = 0; i < adjustedCircle - 1; i++) {
+                offsets.add(new int[] { x, ++z });
+            }
+        }
+        return offsets;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private final class Search implements Runnable {
+        private final Location origin;
+        private final World world;
+        private final int tolerance;
+        private final int radius;
+        private final int levels;
+        private final int diameter;
+        private final int maxHeight;
+        private final Deque<long[]> missingChunks;
+        private final Map<Long, ChunkSnapshot> snapshots;
+        private final CompletableFuture<Location> future;
+        private final SimpleBlockSafety.BlockTypes blockTypes = this::getType;
+        private BukkitTask task;
+
+        Search(Location origin, int tolerance, int radius) {
+            this.origin = origin.clone();
+            this.world = origin.getWorld();
+            this.tolerance = tolerance;
+            this.radius = radius;
+            // Tolerance must be an even number, and we want half of it so we can go up and down.
+            this.levels = (tolerance % 2 != 0 ? tolerance + 1 : tolerance) / 2;
+            this.diameter = radius % 2 == 0 ? radius + 1 : radius;
+            this.maxHeight = this.world.getMaxHeight();
+            this.missingChunks = new ArrayDeque<long[]>();
+            this.snapshots = new HashMap<Long, ChunkSnapshot>();
+            this.future = new CompletableFuture<Location>();
+        }
+
+        void start() {
+            int half = (this.diameter - 1) / 2;
+            int minChunkX = (this.origin.getBlockX() - half) >> 4;
+            int maxChunkX = (this.origin.getBlockX() + half) >> 4;
+            int minChunkZ = (this.origin.getBlockZ() - half) >> 4;
+            int maxChunkZ = (this.origin.getBlockZ() + half) >> 4;
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                    this.missingChunks.add(new long[] { chunkX, chunkZ });
+                }
+            }
+            this.run();
+            if (!this.missingChunks.isEmpty()) {
+                try {
+                    this.task = plugin.getServer().getScheduler().runTaskTimer(plugin, this, 1L, 1L);
+                } catch (IllegalPluginAccessException e) {
+                    this.searchOnMainThread();
+                }
+            }
+        }
+
+        /**
+         * Takes the snapshots of the chunks that are loaded, and loads one chunk that isn't.
+         */
+        @Override
+        public void run() {
+            boolean loadedChunk = false;
+            while (!this.missingChunks.isEmpty()) {
+                long[] chunk = this.missingChunks.peek();
+                int chunkX = (int) chunk[0];
+                int chunkZ = (int) chunk[1];
+                if (!this.world.isChunkLoaded(chunkX, chunkZ)) {
+                    if (loadedChunk) {
+                        // One per tick is enough, the rest can wait.
+                        return;
+                    }
+                    loadedChunk = true;
+                }
+                this.snapshots.put(chunkKey(chunkX, chunkZ),
+                        this.world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false));
+                this.missingChunks.poll();
+            }
+            if (this.task != null) {
+                this.task.cancel();
+                this.task = null;
+            }
+            try {
+                plugin.getServer().getScheduler().runTaskAsynchronously(plugin, this::searchSnapshots);
+            } catch (IllegalPluginAccessException e) {
+                this.searchOnMainThread();
+            }
+        }
+
+        private void searchSnapshots() {
+            int[] found = null;
+            try {
+                found = this.findSafeOffset();
+            } catch (RuntimeException e) {
+                Logging.warning("Looking for a safe location failed: %s", e.getMessage());
+            }
+            final int[] offset = found;
+            try {
+                plugin.getServer().getScheduler().runTask(plugin, () -> this.validate(offset));
+            } catch (IllegalPluginAccessException e) {
+                this.future.complete(null);
+            }
+        }
+
+        /**
+         * Finds the first safe block in the same order as the synchronous search.
+         *
+         * @return The x, y and z offset from the origin or null if there's no safe block.
+         */
+        private int[] findSafeOffset() {
+            List<int[]> ring = getRingOffsets(this.diameter);
+            int x = this.origin.getBlockX();
+            int y = this.origin.getBlockY();
+            int z = this.origin.getBlockZ();
+            for (int level = 0; level <= this.levels; level++) {
+                // The main level first, then above and below.
+                for (int dy : level == 0 ? new int[] { 0 } : new int[] { level, -level }) {
+                    for (int[] offset : ring) {
+                        if (SimpleBlockSafety.canSpawnSafelyAt(this.blockTypes, x + offset[0], y + dy, z + offset[1])) {
+                            return new int[] { offset[0], dy, offset[1] };
+                        }
+                    }
+                }
+            }
+            return null;
+        }
+
+        private void validate(int[] offset) {
+            if (offset == null) {
+                Logging.fine("Uh oh! No safe place found!");
+                this.future.complete(null);
+                return;
+            }
+            Location safe = this.origin.clone().add(offset[0], offset[1], offset[2]);
+            safe.setX(safe.getBlockX() + .5); // SUPPRESS CHECKSTYLE: MagicNumberCheck
+            safe.setZ(safe.getBlockZ() + .5); // SUPPRESS CHECKSTYLE: MagicNumberCheck
+            if (plugin.getBlockSafety().playerCanSpawnHereSafely(safe)) {
+                Logging.fine("Hey! I found one: " + plugin.getLocationManipulation().strCoordsRaw(safe));
+                // The world may have changed since the snapshots, but this location is safe right now.
+                cache.put(this.origin, this.tolerance, this.radius, safe, cache.getStamp());
+                this.future.complete(safe);
+            } else {
+                // The world changed while we were looking.
+                Logging.finer("The safe location changed while looking for it, looking again.");
+                this.searchOnMainThread();
+            }
+        }
+
+        private void searchOnMainThread() {
+            this.future.complete(plugin.getSafeTTeleporter().getSafeLocation(this.origin, this.tolerance, this.radius));
+        }
+
+        /**
+         * Gets the type of a block from the snapshots.
+         *
+         * @return The type, or null if we have no snapshot of its chunk.
+         */
+        private Material getType(int x, int y, int z) {
+            if (y < 0 || y >= this.maxHeight) {
+                return Material.AIR;
+            }
+            ChunkSnapshot snapshot = this.snapshots.get(chunkKey(x >> 4, z >> 4));
+            if (snapshot == null) {
+                return null;
+            }
+            return CompatibilityLayer.getBlockType(snapshot, x & 0xF, y, z & 0xF);
+        }
+    }
+}
@@ -50,9 +50,8 @@ public class SimpleBlockSafety implements BlockSafety {
      */
     @Override
     public boolean isBlockAboveAir(Location l) {
-        Location downOne = l.clone();
-        downOne.setY(downOne.getY() - 1);
-        return (downOne.getBlock().getType() == Material.AIR);
+        return MaterialFlags.is(l.getWorld().getBlockAt(l.getBlockX(), l.getBlockY() - 1, l.getBlockZ()).getType(),
+                MaterialFlags.PASSABLE);
     }
 
     /**
@@ -60,8 +59,11 @@ public class SimpleBlockSafety implements BlockSafety {
      */
     @Override
     public boolean playerCanSpawnHereSafely(World world, double x, double y, double z) {
-        Location l = new Location(world, x, y, z);
-        return playerCanSpawnHereSafely(l);
+        if (world == null) {
+            return false;
+        }
+        return canSpawnSafelyAt((bx, by, bz) -> world.getBlockAt(bx, by, bz).getType(),
+                Location.locToBlock(x), Location.locToBlock(y), Location.locToBlock(z));
     }
 
     /**
@@ -73,39 +75,78 @@ public class SimpleBlockSafety implements BlockSafety {
             // Can't safely spawn at a null location!
             return false;
         }
+        return this.playerCanSpawnHereSafely(l.getWorld(), l.getX(), l.getY(), l.getZ());
+    }
 
-        World world = l.getWorld();
-        Location actual = l.clone();
-        Location upOne = l.clone();
-        Location downOne = l.clone();
-        upOne.setY(upOne.getY() + 1);
-        downOne.setY(downOne.getY() - 1);
+    /**
+     * Looks up the type of a block by its coordinates.
+     */
+    public interface BlockTypes {
+        /**
+         * Gets the type of a block.
+         *
+         * @param x The x coordinate.
+         * @param y The y coordinate.
+         * @param z The z coordinate.
+         * @return The {@link Material} of the block, or null if it's unknown.
+         */
+        Material getType(int x, int y, int z);
+    }
 
-        if (isSolidBlock(world.getBlockAt(actual).getType())
-                || isSolidBlock(upOne.getBlock().getType())) {
-            Logging.finer("Error Here (Actual)? (%s)[%s]", actual.getBlock().getType(),
-                    isSolidBlock(actual.getBlock().getType()));
-            Logging.finer("Error Here (upOne)? (%s)[%s]", upOne.getBlock().getType(),
-                    isSolidBlock(upOne.getBlock().getType()));
+    /**
+     * Checks whether a player can spawn at the given block.
+     * <p>
+     * The player needs two blocks that aren't solid to stand in, and neither lava nor fire below.
+     * If there is air below, there has to be water further down to break the fall. Unknown blocks
+     * are never safe.
+     *
+     * @param blocks Where to get the blocks from.
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     * @param z The z coordinate.
+     * @return True if a player can spawn there safely.
+     */
+    public static boolean canSpawnSafelyAt(BlockTypes blocks, int x, int y, int z) {
+        Material actual = blocks.getType(x, y, z);
+        Material upOne = blocks.getType(x, y + 1, z);
+        int actualFlags = MaterialFlags.of(actual);
+        int upOneFlags = MaterialFlags.of(upOne);
+        if (((actualFlags | upOneFlags) & (MaterialFlags.SOLID | MaterialFlags.UNKNOWN)) != 0) {
+            Logging.finer("Error Here (Actual)? (%s)[%s]", actual, (actualFlags & MaterialFlags.SOLID) != 0);
+            Logging.finer("Error Here (upOne)? (%s)[%s]", upOne, (upOneFlags & MaterialFlags.SOLID) != 0);
             return false;
         }
 
-        if (downOne.getBlock().getType() == Material.LAVA) {
-            Logging.finer("Error Here (downOne)? (%s)[%s]", downOne.getBlock().getType(), isSolidBlock(downOne.getBlock().getType()));
+        Material downOne = blocks.getType(x, y - 1, z);
+        int downOneFlags = MaterialFlags.of(downOne);
+        if ((downOneFlags & (MaterialFlags.HAZARDOUS | MaterialFlags.UNKNOWN)) != 0) {
+            Logging.finer("Error Here (downOne)? (%s)", downOne);
             return false;
         }
 
-        if (downOne.getBlock().getType() == Material.FIRE) {
-            Logging.finer("There's fire below! (%s)[%s]", actual.getBlock().getType(), isSolidBlock(actual.getBlock().getType()));
-            return false;
+        if ((downOneFlags & MaterialFlags.PASSABLE) != 0) {
+            boolean water = hasTwoBlocksOfWaterBelow(blocks, x, y, z);
+            Logging.finer("Is block above air [true]");
+            Logging.finer("Has 2 blocks of water below [%s]", water);
+            return water;
         }
+        return true;
+    }
 
-        if (isBlockAboveAir(actual)) {
-            Logging.finer("Is block above air [%s]", isBlockAboveAir(actual));
-            Logging.finer("Has 2 blocks of water below [%s]", this.hasTwoBlocksofWaterBelow(actual));
-            return this.hasTwoBlocksofWaterBelow(actual);
+    /**
+     * Checks below a block for water, falling through air.
+     */
+    private static boolean hasTwoBlocksOfWaterBelow(BlockTypes blocks, int x, int y, int z) {
+        for (int current = y; current >= 0; current--) {
+            int flags = MaterialFlags.of(blocks.getType(x, current - 1, z));
+            if ((flags & MaterialFlags.LIQUID) != 0) {
+                return true;
+            }
+            if ((flags & MaterialFlags.PASSABLE) == 0) {
+                return false;
+            }
         }
-        return true;
+        return false;
     }
 
     /**
@@ -171,13 +212,24 @@ public class SimpleBlockSafety implements BlockSafety {
      */
     @Override
     public Location getTopBlock(Location l) {
-        Location check = l.clone();
-        check.setY(127); // SUPPRESS CHECKSTYLE: MagicNumberCheck
-        while (check.getY() > 0) {
-            if (this.playerCanSpawnHereSafely(check)) {
+        World world = l.getWorld();
+        int x = l.getBlockX();
+        int z = l.getBlockZ();
+        int minY = CompatibilityLayer.getMinHeight(world);
+        int maxY = world.getMaxHeight();
+        // There's only air above the highest block, so the first place worth checking is right on top of it.
+        int y = Math.min(world.getHighestBlockYAt(x, z) + 1, maxY - 1);
+        Material up = getType(world, x, y + 1, z, maxY);
+        Material actual = getType(world, x, y, z, maxY);
+        for (; y > minY; y--) {
+            Material below = getType(world, x, y - 1, z, maxY);
+            if (isStandingSpot(below, actual, up)) {
+                Location check = l.clone();
+                check.setY(y);
                 return check;
             }
-            check.setY(check.getY() - 1);
+            up = actual;
+            actual = below;
         }
         return null;
     }
@@ -187,22 +239,45 @@ public class SimpleBlockSafety implements BlockSafety {
      */
     @Override
     public Location getBottomBlock(Location l) {
-        Location check = l.clone();
-        check.setY(0);
-        while (check.getY() < 127) { // SUPPRESS CHECKSTYLE: MagicNumberCheck
-            if (this.playerCanSpawnHereSafely(check)) {
+        World world = l.getWorld();
+        int x = l.getBlockX();
+        int z = l.getBlockZ();
+        int maxY = world.getMaxHeight();
+        // Right on top of the highest block is the last place worth checking.
+        int topY = Math.min(world.getHighestBlockYAt(x, z) + 1, maxY - 1);
+        int y = CompatibilityLayer.getMinHeight(world) + 1;
+        Material below = getType(world, x, y - 1, z, maxY);
+        Material actual = getType(world, x, y, z, maxY);
+        for (; y <= topY; y++) {
+            Material up = getType(world, x, y + 1, z, maxY);
+            if (isStandingSpot(below, actual, up)) {
+                Location check = l.clone();
+                check.setY(y);
                 return check;
             }
-            check.setY(check.getY() + 1);
+            below = actual;
+            actual = up;
         }
         return null;
     }
 
+    /**
+     * Checks whether a player can stand in a gap of two blocks, on top of the block below.
+     */
+    private static boolean isStandingSpot(Material below, Material actual, Material up) {
+        return !MaterialFlags.is(actual, MaterialFlags.SOLID) && !MaterialFlags.is(up, MaterialFlags.SOLID)
+                && (MaterialFlags.of(below) & (MaterialFlags.HAZARDOUS | MaterialFlags.PASSABLE)) == 0;
+    }
+
+    private static Material getType(World world, int x, int y, int z, int maxY) {
+        return y >= maxY ? Material.AIR : world.getBlockAt(x, y, z).getType();
+    }
+
     /*
      * If someone has a better way of this... Please either tell us, or submit a pull request!
      */
     public static boolean isSolidBlock(Material type) {
-        return type.isSolid();
+        return MaterialFlags.is(type, MaterialFlags.SOLID);
     }
 
     /**
@@ -218,29 +293,6 @@ public class SimpleBlockSafety implements BlockSafety {
                 || currentBlock == Material.ACTIVATOR_RAIL);
     }
 
-    /**
-     * Checks recursively below a {@link Location} for 2 blocks of water.
-     *
-     * @param l The {@link Location}
-     * @return Whether there are 2 blocks of water
-     */
-    private boolean hasTwoBlocksofWaterBelow(Location l) {
-        if (l.getBlockY() < 0) {
-            return false;
-        }
-        Location oneBelow = l.clone();
-        oneBelow.subtract(0, 1, 0);
-        if (oneBelow.getBlock().getType() == Material.WATER) {
-            Location twoBelow = oneBelow.clone();
-            twoBelow.subtract(0, 1, 0);
-            return (oneBelow.getBlock().getType() == Material.WATER);
-        }
-        if (oneBelow.getBlock().getType() != Material.AIR) {
-            return false;
-        }
-        return hasTwoBlocksofWaterBelow(oneBelow);
-    }
-
     /**
      * {@inheritDoc}
      */
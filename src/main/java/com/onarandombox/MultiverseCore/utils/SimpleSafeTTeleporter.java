@@ -25,15 +25,26 @@ import org.bukkit.entity.Player;
 import org.bukkit.entity.Vehicle;
 import org.bukkit.util.Vector;
 
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * The default-implementation of {@link SafeTTeleporter}.
  */
 public class SimpleSafeTTeleporter implements SafeTTeleporter {
     private MultiverseCore plugin;
     private Material netherPortal;
+    private final SafeLocationCache locationCache;
+    private final SafeLocationSearch search;
+    private final ChunkPreloader preloader;
+    private final MassTeleporter massTeleporter;
 
     public SimpleSafeTTeleporter(MultiverseCore plugin) {
         this.plugin = plugin;
+        this.locationCache = new SafeLocationCache();
+        this.search = new SafeLocationSearch(plugin, this.locationCache);
+        this.preloader = new ChunkPreloader(plugin);
+        this.massTeleporter = new MassTeleporter(plugin, this.preloader);
         
         Material tmp;
         
@@ -46,8 +57,8 @@ public class SimpleSafeTTeleporter implements SafeTTeleporter {
     }
 
     private static final Vector DEFAULT_VECTOR = new Vector();
-    private static final int DEFAULT_TOLERANCE = 6;
-    private static final int DEFAULT_RADIUS = 9;
+    static final int DEFAULT_TOLERANCE = 6;
+    static final int DEFAULT_RADIUS = 9;
 
     /**
      * {@inheritDoc}
@@ -62,6 +73,18 @@ public class SimpleSafeTTeleporter implements SafeTTeleporter {
      */
     @Override
     public Location getSafeLocation(Location l, int tolerance, int radius) {
+        SafeLocationCache.Entry cached = this.locationCache.get(l, tolerance, radius);
+        if (cached != null) {
+            Location safe = cached.getSafeLocation(l);
+            // Not every change to the world is seen by the cache, so make sure it is still safe.
+            if (safe == null || plugin.getBlockSafety().playerCanSpawnHereSafely(safe)) {
+                Logging.finer("Found a remembered safe location: %s", safe);
+                return safe;
+            }
+            Logging.finer("The remembered safe location isn't safe anymore, looking again.");
+            this.locationCache.remove(l, tolerance, radius);
+        }
+        long stamp = this.locationCache.getStamp();
         // Check around the player first in a configurable radius:
         // TODO: Make this configurable
         Location safe = checkAboveAndBelowLocation(l, tolerance, radius);
@@ -72,9 +95,27 @@ public class SimpleSafeTTeleporter implements SafeTTeleporter {
         } else {
             Logging.fine("Uh oh! No safe place found!");
         }
+        this.locationCache.put(l, tolerance, radius, safe, stamp);
         return safe;
     }
 
+    /**
+     * Gets the cache of safe location searches.
+     *
+     * @return The {@link SafeLocationCache}.
+     */
+    public SafeLocationCache getLocationCache() {
+        return this.locationCache;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Location> getSafeLocationAsync(Location l, int tolerance, int radius) {
+        return this.search.search(l, tolerance, radius);
+    }
+
     private Location checkAboveAndBelowLocation(Location l, int tolerance, int radius) {
         // Tolerance must be an even number:
         if (tolerance % 2 != 0) {
@@ -215,7 +256,6 @@ public class SimpleSafeTTeleporter implements SafeTTeleporter {
         if (teleporteePlayer == null) {
             return TeleportResult.FAIL_INVALID;
         }
-        MultiverseCore.addPlayerToTeleportQueue(teleporter.getName(), teleporteePlayer.getName());
 
         Location safeLoc = d.getLocation(teleportee);
         if (d.useSafeTeleporter()) {
@@ -223,6 +263,8 @@ public class SimpleSafeTTeleporter implements SafeTTeleporter {
         }
 
         if (safeLoc != null) {
+            // Only now, the search above may take longer than the queue remembers a teleport.
+            MultiverseCore.addPlayerToTeleportQueue(teleporter.getName(), teleporteePlayer.getUniqueId());
             if (teleportee.teleport(safeLoc)) {
                 Vector v = d.getVelocity();
                 if (v != null && !DEFAULT_VECTOR.equals(v)) {
@@ -232,6 +274,7 @@ public class SimpleSafeTTeleporter implements SafeTTeleporter {
                 }
                 return TeleportResult.SUCCESS;
             }
+            MultiverseCore.getTeleportQueue().discard(teleporteePlayer.getUniqueId());
             return TeleportResult.FAIL_OTHER;
         }
         return TeleportResult.FAIL_UNSAFE;
@@ -255,6 +298,63 @@ public class SimpleSafeTTeleporter implements SafeTTeleporter {
         return TeleportResult.FAIL_UNSAFE;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<TeleportResult> safelyTeleportAsync(CommandSender teleporter, Entity teleportee, MVDestination d) {
+        Location target = (d instanceof InvalidDestination) ? null : d.getLocation(teleportee);
+        if (target == null || target.getWorld() == null) {
+            return CompletableFuture.completedFuture(this.safelyTeleport(teleporter, teleportee, d));
+        }
+        // The teleport picks the safe location up from the cache.
+        return this.preloader.preload(target, DEFAULT_RADIUS / 2)
+                .thenCompose(loaded -> this.searchIfUnsafe(d, target))
+                .thenApply(searched -> this.safelyTeleport(teleporter, teleportee, d));
+    }
+
+    /**
+     * Looks for a safe location around the target of a destination off the main thread, if it needs one.
+     *
+     * @param d The destination.
+     * @param target Where the destination leads.
+     * @return A future that completes on the main thread once the search is done.
+     */
+    private CompletableFuture<Location> searchIfUnsafe(MVDestination d, Location target) {
+        if (!d.useSafeTeleporter() || plugin.getBlockSafety().playerCanSpawnHereSafely(target)) {
+            return CompletableFuture.completedFuture(target);
+        }
+        return this.getSafeLocationAsync(target, DEFAULT_TOLERANCE, DEFAULT_RADIUS);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<TeleportResult> safelyTeleportAsync(CommandSender teleporter, Entity teleportee,
+            Location location, boolean safely) {
+        if (location == null || location.getWorld() == null) {
+            return CompletableFuture.completedFuture(this.safelyTeleport(teleporter, teleportee, location, safely));
+        }
+        if (!safely) {
+            return this.preloader.preload(location, 0)
+                    .thenApply(loaded -> this.safelyTeleport(teleporter, teleportee, location, false));
+        }
+        return this.preloader.preload(location, DEFAULT_RADIUS / 2)
+                .thenCompose(loaded -> this.getSafeLocationAsync(location, DEFAULT_TOLERANCE, DEFAULT_RADIUS))
+                .thenApply(safe -> safe == null ? TeleportResult.FAIL_UNSAFE
+                        : this.safelyTeleport(teleporter, teleportee, safe, false));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Integer> safelyTeleportAll(Collection<? extends Player> players, Location location,
+            boolean safely) {
+        return this.massTeleporter.teleport(players, location, safely, safely ? DEFAULT_RADIUS / 2 : 0);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -8,9 +8,11 @@
 package com.onarandombox.MultiverseCore.utils;
 
 import com.dumptruckman.minecraft.util.Logging;
+import com.onarandombox.MultiverseCore.MVWorld;
 import com.onarandombox.MultiverseCore.MultiverseCore;
 import com.onarandombox.MultiverseCore.api.MultiverseWorld;
 import com.onarandombox.MultiverseCore.api.WorldPurger;
+import org.bukkit.Chunk;
 import org.bukkit.World;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Animals;
@@ -23,18 +25,37 @@ import org.bukkit.entity.Monster;
 import org.bukkit.entity.Projectile;
 import org.bukkit.entity.Slime;
 import org.bukkit.entity.Squid;
+import org.bukkit.plugin.IllegalPluginAccessException;
+import org.bukkit.projectiles.ProjectileSource;
+import org.bukkit.scheduler.BukkitTask;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Utility class that removes animals from worlds that don't belong there.
  */
-public class SimpleWorldPurger implements WorldPurger {
+public class SimpleWorldPurger implements WorldPurger, Runnable {
+    /**
+     * How long incremental purges may take per tick, in nanoseconds.
+     */
+    public static final long PURGE_TICK_BUDGET = TimeUnit.MILLISECONDS.toNanos(5L);
 
     private MultiverseCore plugin;
 
+    private final Deque<IncrementalPurge> purges = new ArrayDeque<IncrementalPurge>();
+    private BukkitTask task;
+
     private Class<Entity> ambientClass = null;
 
     @SuppressWarnings("unchecked")
@@ -79,6 +100,9 @@ public class SimpleWorldPurger implements WorldPurger {
      */
     @Override
     public boolean shouldWeKillThisCreature(MultiverseWorld world, Entity e) {
+        if (world instanceof MVWorld) {
+            return ((MVWorld) world).getSpawnPolicy().shouldKill(e.getType());
+        }
         ArrayList<String> allMobs = new ArrayList<String>(world.getAnimalList());
         allMobs.addAll(world.getMonsterList());
         return this.shouldWeKillThisCreature(e, allMobs, !world.canAnimalsSpawn(), !world.canMonstersSpawn());
@@ -104,28 +128,17 @@ public class SimpleWorldPurger implements WorldPurger {
         boolean specifiedMonsters = thingsToKill.contains("MONSTERS") || specifiedAll;
         List<Entity> worldEntities = world.getEntities();
         List<LivingEntity> livingEntities = new ArrayList<LivingEntity>(worldEntities.size());
-        List<Projectile> projectiles = new ArrayList<Projectile>(worldEntities.size());
+        Map<ProjectileSource, List<Projectile>> projectiles = new HashMap<ProjectileSource, List<Projectile>>();
         for (final Entity e : worldEntities) {
             if (e instanceof Projectile) {
-                final Projectile p = (Projectile) e;
-                if (p.getShooter() != null) {
-                    projectiles.add((Projectile) e);
-                }
+                indexProjectile(projectiles, (Projectile) e);
             } else if (e instanceof LivingEntity) {
                 livingEntities.add((LivingEntity) e);
             }
         }
         for (final LivingEntity e : livingEntities) {
             if (killDecision(e, thingsToKill, negateAnimals, negateMonsters, specifiedAnimals, specifiedMonsters)) {
-                final Iterator<Projectile> it = projectiles.iterator();
-                while (it.hasNext()) {
-                    final Projectile p = it.next();
-                    if (p.getShooter().equals(e)) {
-                        p.remove();
-                        it.remove();
-                        projectilesKilled++;
-                    }
-                }
+                projectilesKilled += removeProjectiles(projectiles.remove(e));
                 e.remove();
                 entitiesKilled++;
             }
@@ -135,6 +148,233 @@ public class SimpleWorldPurger implements WorldPurger {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Integer> purgeWorldIncrementally(MultiverseWorld world) {
+        if (world == null) {
+            return CompletableFuture.completedFuture(0);
+        }
+        return this.queuePurge(world, getSpawnPolicy(world), null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int purgeChunk(MultiverseWorld world, Chunk chunk) {
+        if (world == null || !chunk.isLoaded()) {
+            return 0;
+        }
+        SpawnPolicy policy = getSpawnPolicy(world);
+        Entity[] entities = chunk.getEntities();
+        Map<ProjectileSource, List<Projectile>> projectiles = null;
+        int entitiesKilled = 0;
+        for (Entity e : entities) {
+            if (e instanceof Projectile) {
+                if (projectiles == null) {
+                    projectiles = new HashMap<ProjectileSource, List<Projectile>>();
+                }
+                indexProjectile(projectiles, (Projectile) e);
+            }
+        }
+        for (Entity e : entities) {
+            if (e instanceof LivingEntity && policy.shouldKill(e.getType())) {
+                Logging.finest("Removing an entity from a loading chunk in world %s: %s", world.getName(), e);
+                if (projectiles != null) {
+                    removeProjectiles(projectiles.remove(e));
+                }
+                e.remove();
+                entitiesKilled++;
+            }
+        }
+        return entitiesKilled;
+    }
+
+    private static SpawnPolicy getSpawnPolicy(MultiverseWorld world) {
+        if (world instanceof MVWorld) {
+            return ((MVWorld) world).getSpawnPolicy();
+        }
+        return SpawnPolicy.compile(world.getAnimalList(), world.getMonsterList(),
+                world.canAnimalsSpawn(), world.canMonstersSpawn());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Integer> purgeWorldIncrementally(MultiverseWorld mvworld, List<String> thingsToKill,
+            boolean negateAnimals, boolean negateMonsters, CommandSender sender) {
+        if (mvworld == null) {
+            return CompletableFuture.completedFuture(0);
+        }
+        return this.queuePurge(mvworld, SpawnPolicy.compile(thingsToKill, Collections.<String>emptyList(),
+                !negateAnimals, !negateMonsters), sender);
+    }
+
+    private CompletableFuture<Integer> queuePurge(MultiverseWorld mvworld, SpawnPolicy policy, CommandSender sender) {
+        World world = mvworld.getCBWorld();
+        if (world == null) {
+            return CompletableFuture.completedFuture(0);
+        }
+        if (sender == null) {
+            // A newer automatic purge of the same world makes a queued one pointless.
+            Iterator<IncrementalPurge> it = this.purges.iterator();
+            while (it.hasNext()) {
+                IncrementalPurge queued = it.next();
+                if (queued.sender == null && queued.world.equals(world)) {
+                    it.remove();
+                    queued.finish();
+                }
+            }
+        }
+        IncrementalPurge purge = new IncrementalPurge(world, policy, sender);
+        this.purges.add(purge);
+        // Most worlds are done within the first slice, only schedule the rest if there is any.
+        this.run();
+        if (!this.purges.isEmpty() && this.task == null) {
+            try {
+                this.task = this.plugin.getServer().getScheduler().runTaskTimer(this.plugin, this, 1L, 1L);
+            } catch (IllegalPluginAccessException e) {
+                Logging.fine("Could not schedule purging, finishing it right away: %s", e.getMessage());
+                while (!this.purges.isEmpty()) {
+                    this.purges.poll().step(Long.MAX_VALUE);
+                }
+            }
+        }
+        return purge.future;
+    }
+
+    /**
+     * Purges the queued worlds until this tick's time budget is used up.
+     */
+    @Override
+    public void run() {
+        long deadline = System.nanoTime() + PURGE_TICK_BUDGET;
+        while (!this.purges.isEmpty() && System.nanoTime() < deadline) {
+            if (this.purges.peek().step(deadline)) {
+                this.purges.poll();
+            }
+        }
+        if (this.purges.isEmpty() && this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+    }
+
+    private static void indexProjectile(Map<ProjectileSource, List<Projectile>> projectiles, Projectile p) {
+        ProjectileSource shooter = p.getShooter();
+        if (shooter == null) {
+            return;
+        }
+        List<Projectile> shot = projectiles.get(shooter);
+        if (shot == null) {
+            shot = new ArrayList<Projectile>(1);
+            projectiles.put(shooter, shot);
+        }
+        shot.add(p);
+    }
+
+    private static int removeProjectiles(List<Projectile> projectiles) {
+        if (projectiles == null) {
+            return 0;
+        }
+        for (Projectile p : projectiles) {
+            p.remove();
+        }
+        return projectiles.size();
+    }
+
+    /**
+     * A purge of one world that walks its loaded chunks a few at a time.
+     * <p>
+     * A projectile and its shooter can be in different chunks, so projectiles are kept by shooter
+     * until we know whether the shooter stays, and the removed shooters are remembered for the
+     * projectiles we only get to later.
+     */
+    private final class IncrementalPurge {
+        private final World world;
+        private final SpawnPolicy policy;
+        private final CommandSender sender;
+        private final CompletableFuture<Integer> future;
+        private final Chunk[] chunks;
+        private final Map<ProjectileSource, List<Projectile>> projectiles;
+        private final Set<ProjectileSource> removedShooters;
+        private final long startTime;
+        private int nextChunk;
+        private int entitiesKilled;
+        private int projectilesKilled;
+
+        IncrementalPurge(World world, SpawnPolicy policy, CommandSender sender) {
+            this.world = world;
+            this.policy = policy;
+            this.sender = sender;
+            this.future = new CompletableFuture<Integer>();
+            Chunk[] loadedChunks = world.getLoadedChunks();
+            this.chunks = loadedChunks == null ? new Chunk[0] : loadedChunks;
+            this.projectiles = new HashMap<ProjectileSource, List<Projectile>>();
+            this.removedShooters = new HashSet<ProjectileSource>();
+            this.startTime = System.nanoTime();
+        }
+
+        /**
+         * Purges chunks until the deadline has passed.
+         *
+         * @param deadline The {@link System#nanoTime()} to stop at.
+         * @return True if the whole world has been purged.
+         */
+        boolean step(long deadline) {
+            while (this.nextChunk < this.chunks.length) {
+                Chunk chunk = this.chunks[this.nextChunk];
+                this.chunks[this.nextChunk++] = null;
+                // Chunks of a world that has been unloaded in the meantime are skipped here as well.
+                if (chunk.isLoaded()) {
+                    this.purgeChunk(chunk);
+                }
+                if (System.nanoTime() >= deadline) {
+                    break;
+                }
+            }
+            if (this.nextChunk < this.chunks.length) {
+                return false;
+            }
+            this.finish();
+            return true;
+        }
+
+        private void purgeChunk(Chunk chunk) {
+            for (Entity e : chunk.getEntities()) {
+                if (e instanceof Projectile) {
+                    Projectile p = (Projectile) e;
+                    if (p.getShooter() != null && this.removedShooters.contains(p.getShooter())) {
+                        p.remove();
+                        this.projectilesKilled++;
+                    } else {
+                        indexProjectile(this.projectiles, p);
+                    }
+                } else if (e instanceof LivingEntity && this.policy.shouldKill(e.getType())) {
+                    Logging.finest("Removing an entity in world %s: %s", this.world.getName(), e);
+                    this.projectilesKilled += removeProjectiles(this.projectiles.remove(e));
+                    this.removedShooters.add((LivingEntity) e);
+                    e.remove();
+                    this.entitiesKilled++;
+                }
+            }
+        }
+
+        void finish() {
+            Logging.fine("Purged %d entities and %d projectiles from '%s' in %d ms.", this.entitiesKilled,
+                    this.projectilesKilled, this.world.getName(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.startTime));
+            if (this.sender != null) {
+                this.sender.sendMessage(this.entitiesKilled + " entities purged from the world '" + this.world.getName()
+                        + "' along with " + this.projectilesKilled + " projectiles that belonged to them.");
+            }
+            this.future.complete(this.entitiesKilled);
+        }
+    }
+
     @SuppressWarnings("deprecation")
 	private boolean killDecision(Entity e, List<String> thingsToKill, boolean negateAnimals,
             boolean negateMonsters, boolean specifiedAnimals, boolean specifiedMonsters) {
@@ -0,0 +1,131 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.utils;
+
+import org.bukkit.entity.Animals;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Ghast;
+import org.bukkit.entity.Golem;
+import org.bukkit.entity.Monster;
+import org.bukkit.entity.Slime;
+import org.bukkit.entity.Squid;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Which creatures have to be removed from a world, worked out once from its spawning settings.
+ * <p>
+ * This makes the same decision as {@link SimpleWorldPurger#shouldWeKillThisCreature(org.bukkit.entity.Entity, List, boolean, boolean)},
+ * but looking it up is a single set lookup.
+ */
+public final class SpawnPolicy {
+    private static final Class<?> AMBIENT_CLASS = findAmbientClass();
+
+    private final Set<EntityType> killed;
+
+    private SpawnPolicy(Set<EntityType> killed) {
+        this.killed = killed;
+    }
+
+    /**
+     * Works out the policy for the given spawning settings.
+     *
+     * @param animalExceptions The animal exceptions of the world.
+     * @param monsterExceptions The monster exceptions of the world.
+     * @param allowAnimals Whether animals may spawn.
+     * @param allowMonsters Whether monsters may spawn.
+     * @return The policy.
+     */
+    @SuppressWarnings("deprecation")
+    public static SpawnPolicy compile(List<String> animalExceptions, List<String> monsterExceptions,
+                                      boolean allowAnimals, boolean allowMonsters) {
+        Set<EntityType> listed = EnumSet.noneOf(EntityType.class);
+        boolean specifiedAll = false;
+        boolean specifiedAnimals = false;
+        boolean specifiedMonsters = false;
+        List<String> exceptions = new ArrayList<String>(animalExceptions);
+        exceptions.addAll(monsterExceptions);
+        for (String s : exceptions) {
+            specifiedAll |= s.equals("ALL");
+            specifiedAnimals |= s.equals("ANIMALS");
+            specifiedMonsters |= s.equals("MONSTERS");
+            EntityType type = EntityType.fromName(s);
+            if (type != null) {
+                listed.add(type);
+            }
+        }
+        specifiedAnimals |= specifiedAll;
+        specifiedMonsters |= specifiedAll;
+
+        Set<EntityType> killed = EnumSet.noneOf(EntityType.class);
+        for (EntityType type : EntityType.values()) {
+            boolean negate = false;
+            boolean specified = false;
+            if (isAnimal(type)) {
+                if (specifiedAnimals && allowAnimals) {
+                    killed.add(type);
+                    continue;
+                }
+                specified = specifiedAnimals;
+                negate = !allowAnimals;
+            } else if (isMonster(type)) {
+                if (specifiedMonsters && allowMonsters) {
+                    killed.add(type);
+                    continue;
+                }
+                specified = specifiedMonsters;
+                negate = !allowMonsters;
+            }
+            if (listed.contains(type)) {
+                specified = true;
+                if (!negate) {
+                    killed.add(type);
+                    continue;
+                }
+            }
+            if (!specified && negate) {
+                killed.add(type);
+            }
+        }
+        return new SpawnPolicy(killed);
+    }
+
+    /**
+     * Checks whether a creature of the given type has to be removed.
+     *
+     * @param type The type of the creature.
+     * @return True if it may not be in the world.
+     */
+    public boolean shouldKill(EntityType type) {
+        return type != null && this.killed.contains(type);
+    }
+
+    private static boolean isAnimal(EntityType type) {
+        Class<?> entityClass = type.getEntityClass();
+        return entityClass != null && (Golem.class.isAssignableFrom(entityClass) || Squid.class.isAssignableFrom(entityClass)
+                || Animals.class.isAssignableFrom(entityClass)
+                || (AMBIENT_CLASS != null && AMBIENT_CLASS.isAssignableFrom(entityClass)));
+    }
+
+    private static boolean isMonster(EntityType type) {
+        Class<?> entityClass = type.getEntityClass();
+        return (entityClass != null && (Monster.class.isAssignableFrom(entityClass) || Ghast.class.isAssignableFrom(entityClass)
+                || Slime.class.isAssignableFrom(entityClass))) || type.name().equalsIgnoreCase("Phantom");
+    }
+
+    private static Class<?> findAmbientClass() {
+        try {
+            return Class.forName("org.bukkit.entity.Ambient");
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+}
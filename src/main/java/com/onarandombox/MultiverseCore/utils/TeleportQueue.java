@@ -0,0 +1,181 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.utils;
+
+import com.dumptruckman.minecraft.util.Logging;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers who started a teleport until the teleport event of the teleported player comes in.
+ * <p>
+ * Entries are keyed by the UUID of the teleported player. They only live for {@link #TTL}, a teleport
+ * that was cancelled or failed without an event must not be blamed on whoever teleported the player last.
+ * At most {@link #MAX_ENTRIES} are kept. This can be used from any thread.
+ */
+public class TeleportQueue {
+    /**
+     * How many teleports are remembered at most.
+     */
+    public static final int MAX_ENTRIES = 1024;
+    /**
+     * How long a teleport is remembered, a few ticks, in nanoseconds.
+     */
+    public static final long TTL = TimeUnit.MILLISECONDS.toNanos(250L);
+
+    private final ConcurrentMap<UUID, Entry> entries = new ConcurrentHashMap<UUID, Entry>();
+    private final AtomicLong added = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong lastCleanup = new AtomicLong(System.nanoTime());
+
+    /**
+     * Remembers who is teleporting a player.
+     *
+     * @param teleportee The UUID of the player that is teleported.
+     * @param teleporter The name of the one that teleports them.
+     */
+    public void add(UUID teleportee, String teleporter) {
+        if (teleportee == null || teleporter == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        long last = this.lastCleanup.get();
+        // Once in a while, or when it's full, so the ones nobody picked up are counted.
+        if ((now - last > TTL && this.lastCleanup.compareAndSet(last, now)) || this.entries.size() >= MAX_ENTRIES) {
+            this.removeExpired();
+        }
+        Entry previous = this.entries.put(teleportee, new Entry(teleporter, now + TTL));
+        if (previous != null) {
+            // Never picked up, the new teleport replaces it.
+            this.expired.incrementAndGet();
+        }
+        this.added.incrementAndGet();
+        if (this.entries.size() > MAX_ENTRIES) {
+            Logging.fine("The teleport queue is full, forgetting the oldest teleports.");
+            this.removeOldest(this.entries.size() - MAX_ENTRIES);
+        }
+    }
+
+    /**
+     * Gets and forgets who is teleporting a player.
+     *
+     * @param teleportee The UUID of the player that is teleported.
+     * @return The name of the one that teleports them, or null if nobody does or it has been too long.
+     */
+    public String poll(UUID teleportee) {
+        Entry entry = (teleportee == null) ? null : this.entries.remove(teleportee);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            this.expired.incrementAndGet();
+            return null;
+        }
+        this.consumed.incrementAndGet();
+        return entry.teleporter;
+    }
+
+    /**
+     * Forgets a teleport that didn't happen.
+     *
+     * @param teleportee The UUID of the player that wasn't teleported.
+     */
+    public void discard(UUID teleportee) {
+        if (teleportee != null) {
+            this.entries.remove(teleportee);
+        }
+    }
+
+    /**
+     * Removes all entries that have expired.
+     */
+    public void removeExpired() {
+        long now = System.nanoTime();
+        Iterator<Entry> it = this.entries.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().isExpired(now)) {
+                it.remove();
+                this.expired.incrementAndGet();
+            }
+        }
+    }
+
+    private void removeOldest(int count) {
+        for (int i = 0; i < count; i++) {
+            Map.Entry<UUID, Entry> oldest = null;
+            for (Map.Entry<UUID, Entry> entry : this.entries.entrySet()) {
+                if (oldest == null || entry.getValue().expiresAt - oldest.getValue().expiresAt < 0) {
+                    oldest = entry;
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            if (this.entries.remove(oldest.getKey(), oldest.getValue())) {
+                this.expired.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Gets how many teleports were remembered.
+     *
+     * @return The number of teleports.
+     */
+    public long getAdded() {
+        return this.added.get();
+    }
+
+    /**
+     * Gets how many teleports were picked up by their teleport event.
+     *
+     * @return The number of teleports.
+     */
+    public long getConsumed() {
+        return this.consumed.get();
+    }
+
+    /**
+     * Gets how many teleports were forgotten because nobody picked them up in time.
+     *
+     * @return The number of teleports.
+     */
+    public long getExpired() {
+        return this.expired.get();
+    }
+
+    /**
+     * Gets how many teleports are remembered right now.
+     *
+     * @return The number of teleports.
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    private static final class Entry {
+        private final String teleporter;
+        private final long expiresAt;
+
+        Entry(String teleporter, long expiresAt) {
+            this.teleporter = teleporter;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now - this.expiresAt > 0;
+        }
+    }
+}
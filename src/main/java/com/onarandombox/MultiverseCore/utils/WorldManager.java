@@ -26,6 +26,7 @@ import org.bukkit.World;
 import org.bukkit.World.Environment;
 import org.bukkit.WorldCreator;
 import org.bukkit.WorldType;
+import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
@@ -33,24 +34,45 @@ import org.bukkit.entity.Player;
 import org.bukkit.generator.ChunkGenerator;
 import org.bukkit.permissions.Permission;
 import org.bukkit.permissions.PermissionDefault;
+import org.bukkit.plugin.IllegalPluginAccessException;
 import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.Stack;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Public facing API to add/remove Multiverse worlds.
@@ -59,16 +81,45 @@ public class WorldManager implements MVWorldManager {
     private final MultiverseCore plugin;
     private final WorldPurger worldPurger;
     private final Map<String, MultiverseWorld> worlds;
+    private final Map<String, MultiverseWorld> worldsByAlias;
     private Map<String, WorldProperties> worldsFromTheConfig;
+    private final Map<String, String> configWorldsByAlias;
     private FileConfiguration configWorlds = null;
     private Map<String, String> defaultGens;
     private String firstSpawn;
+    private final Set<String> dirtyWorlds;
+    private BukkitTask pendingSave;
+    private CompletableFuture<Boolean> pendingSaveResult;
+    private long saveGeneration;
+    private final Object writeLock = new Object();
+    private long writtenGeneration;
+    private final Map<String, CloneJob> pendingClones;
+    private ExecutorService cloneExecutor;
+    private final WorldPool worldPool;
+    private final WorldTrash worldTrash;
+    private final WorldSnapshots worldSnapshots;
+    private final PotentialWorldIndex potentialWorldIndex;
+    private int permissionBulkDepth;
+    private final Set<Permission> deferredPermissionDefaults;
+    private final Set<Permission> deferredPermissibles;
+    private final Set<String> skipSpawnPreparation;
 
     public WorldManager(MultiverseCore core) {
         this.plugin = core;
         this.worldsFromTheConfig = new HashMap<String, WorldProperties>();
         this.worlds = new ConcurrentHashMap<String, MultiverseWorld>();
+        this.worldsByAlias = new ConcurrentHashMap<String, MultiverseWorld>();
+        this.configWorldsByAlias = new ConcurrentHashMap<String, String>();
+        this.dirtyWorlds = new HashSet<String>();
+        this.pendingClones = new ConcurrentHashMap<String, CloneJob>();
         this.worldPurger = new SimpleWorldPurger(plugin);
+        this.worldPool = new WorldPool(plugin);
+        this.worldTrash = new WorldTrash(plugin);
+        this.worldSnapshots = new WorldSnapshots(plugin);
+        this.potentialWorldIndex = new PotentialWorldIndex(plugin);
+        this.deferredPermissionDefaults = new LinkedHashSet<Permission>();
+        this.deferredPermissibles = new LinkedHashSet<Permission>();
+        this.skipSpawnPreparation = new HashSet<String>();
     }
 
     /**
@@ -111,38 +162,197 @@ public class WorldManager implements MVWorldManager {
      */
     @Override
     public boolean cloneWorld(String oldName, String newName) {
-        // Make sure we already know about the old world and that we don't
-        // already know about the new world.
-        if (!this.worldsFromTheConfig.containsKey(oldName)) {
-            for (Map.Entry<String, WorldProperties> entry : this.worldsFromTheConfig.entrySet()) {
-                if (oldName.equals(entry.getValue().getAlias())) {
-                    oldName = entry.getKey();
-                    break;
+        CloneJob job = this.prepareClone(oldName, newName);
+        if (job == null) {
+            return false;
+        }
+        Logging.config("Copying files for world '%s'", job.oldName);
+        boolean copied = this.copyCloneFiles(job, null);
+        return this.finishClone(job, copied) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<MultiverseWorld> cloneWorldAsync(String oldName, String newName, final CommandSender sender) {
+        final CompletableFuture<MultiverseWorld> future = new CompletableFuture<MultiverseWorld>();
+        final CloneJob job = this.prepareClone(oldName, newName);
+        if (job == null) {
+            future.complete(null);
+            return future;
+        }
+        this.pendingClones.put(job.newName.toLowerCase(Locale.ENGLISH), job);
+        Logging.config("Copying files for world '%s' in the background", job.oldName);
+        final CloneProgress progress = new CloneProgress(job, sender, future);
+        this.getCloneExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                boolean copied;
+                try {
+                    copied = copyCloneFiles(job, progress);
+                } catch (RuntimeException e) {
+                    Logging.warning("Unexpected error while copying world '%s': %s", job.oldName, e);
+                    copied = false;
+                }
+                if (!copied && job.newWorldFile.exists()) {
+                    // Don't leave half a world behind.
+                    FileUtils.deleteFolder(job.newWorldFile);
+                }
+                final boolean success = copied;
+                try {
+                    plugin.getServer().getScheduler().runTask(plugin, new Runnable() {
+                        @Override
+                        public void run() {
+                            completeCloneAsync(job, success, future);
+                        }
+                    });
+                } catch (IllegalPluginAccessException e) {
+                    // The plugin got disabled while we were copying, shutdown() restored the source world.
+                    pendingClones.remove(job.newName.toLowerCase(Locale.ENGLISH));
+                    future.completeExceptionally(e);
                 }
             }
-            if (!this.worldsFromTheConfig.containsKey(oldName)) {
-                Logging.warning("Old world '%s' does not exist", oldName);
-                return false;
+        });
+        return future;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean setWorldPoolSize(String template, int size) {
+        return this.worldPool.setSize(template, size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getPooledWorldCount(String template) {
+        return this.worldPool.getReadyCount(template);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public MultiverseWorld claimPooledWorld(String template) {
+        return this.worldPool.claim(template);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean releasePooledWorld(String name) {
+        return this.worldPool.release(name);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isPooledWorld(String name) {
+        return this.worldPool.isReady(name);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> createSnapshot(String worldName, String snapshotName) {
+        return this.worldSnapshots.create(worldName, snapshotName);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> restoreSnapshot(String worldName, String snapshotName) {
+        return this.worldSnapshots.restore(worldName, snapshotName);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getSnapshots(String worldName) {
+        return this.worldSnapshots.list(worldName);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Integer> pruneSnapshots(String worldName, int keep) {
+        return this.worldSnapshots.prune(worldName, keep);
+    }
+
+    /**
+     * Finishes a clone started by {@link #cloneWorldAsync(String, String, CommandSender)} on the main thread.
+     *
+     * @param job The clone.
+     * @param copied Whether all files were copied.
+     * @param future The future to complete.
+     */
+    private void completeCloneAsync(final CloneJob job, boolean copied, CompletableFuture<MultiverseWorld> future) {
+        this.pendingClones.remove(job.newName.toLowerCase(Locale.ENGLISH));
+        if (future.isCancelled()) {
+            Logging.info("Cloning of world '%s' to '%s' was cancelled.", job.oldName, job.newName);
+            this.restoreCloneSource(job);
+            if (copied) {
+                // The copy got done before the cancel was seen.
+                this.getCloneExecutor().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        FileUtils.deleteFolder(job.newWorldFile);
+                    }
+                });
             }
+            return;
+        }
+        try {
+            future.complete(this.finishClone(job, copied));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Does everything for cloning a world that has to happen before the files are copied:
+     * checking the names and flushing the old world to disk.
+     *
+     * @param oldName The name or alias of the world to clone.
+     * @param newName The name of the new world.
+     * @return The clone to copy the files for or null if the world can't be cloned.
+     */
+    private CloneJob prepareClone(String oldName, String newName) {
+        // Make sure we already know about the old world and that we don't
+        // already know about the new world.
+        String oldWorldName = this.getConfigWorldName(oldName);
+        if (oldWorldName == null) {
+            Logging.warning("Old world '%s' does not exist", oldName);
+            return null;
         }
-        if (this.isMVWorld(newName)) {
+        oldName = oldWorldName;
+        if (this.isMVWorld(newName) || this.pendingClones.containsKey(newName.toLowerCase(Locale.ENGLISH))) {
             Logging.warning("New world '%s' already exists", newName);
-            return false;
+            return null;
         }
 
         // Check for valid world name
         if (!(WorldNameChecker.isValidWorldName(oldName) && WorldNameChecker.isValidWorldName(newName))) {
-            return false;
+            return null;
         }
 
         final File oldWorldFile = new File(this.plugin.getServer().getWorldContainer(), oldName);
         final File newWorldFile = new File(this.plugin.getServer().getWorldContainer(), newName);
-        final List<String> ignoreFiles = new ArrayList<>(Arrays.asList("session.lock", "uid.dat"));
 
         // Make sure the new world doesn't exist outside of multiverse.
         if (newWorldFile.exists()) {
             Logging.warning("Folder for new world '%s' already exists", newName);
-            return false;
+            return null;
         }
 
         // Load the old world... but just the metadata.
@@ -157,7 +367,7 @@ public class WorldManager implements MVWorldManager {
                 props.setKeepSpawnInMemory(false);
             }
             if (!this.loadWorld(oldName)) {
-                return false;
+                return null;
             }
             this.plugin.getServer().getWorld(oldName).setAutoSave(false);
         }
@@ -181,16 +391,58 @@ public class WorldManager implements MVWorldManager {
             oldWorld.getCBWorld().setAutoSave(false);
             oldWorld.getCBWorld().save();
         }
-        Logging.config("Copying files for world '%s'", oldName);
-        if (!FileUtils.copyFolder(oldWorldFile, newWorldFile, ignoreFiles)) {
-            Logging.warning("Failed to copy files for world '%s', see the log info", newName);
-            return false;
+        return new CloneJob(oldName, newName, oldWorldFile, newWorldFile, oldWorld, wasAutoSave);
+    }
+
+    /**
+     * Copies the files of a world that is being cloned. Copy-on-write links are used if they
+     * are enabled and supported, a full copy otherwise.
+     *
+     * @param job The clone.
+     * @param listener Gets told about every copied file. Can be null.
+     * @return Whether all files were copied.
+     */
+    private boolean copyCloneFiles(CloneJob job, FileUtils.CopyListener listener) {
+        if (this.plugin.getMVConfig().getCopyOnWriteClone()) {
+            long startTime = System.nanoTime();
+            if (FileUtils.reflinkFolder(job.oldWorldFile, job.newWorldFile, CLONE_IGNORE_FILES, listener)) {
+                Logging.config("Linked files for world '%s' in %d ms", job.newName,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+                return true;
+            }
+            if (Thread.currentThread().isInterrupted() || (listener != null && listener.isStopped())) {
+                // Cancelled or shutting down, not just unsupported.
+                return false;
+            }
+            Logging.config("Copy-on-write links are not available for world '%s', copying the files instead", job.newName);
         }
-        if (oldWorld != null && wasAutoSave) {
-            oldWorld.getCBWorld().setAutoSave(true);
+        return FileUtils.copyFolder(job.oldWorldFile, job.newWorldFile, CLONE_IGNORE_FILES, listener);
+    }
+
+    /**
+     * Turns autosave of the cloned world back on if it was on before.
+     *
+     * @param job The clone.
+     */
+    private void restoreCloneSource(CloneJob job) {
+        if (job.oldWorld != null && job.wasAutoSave && this.isMVWorld(job.oldName, false)) {
+            job.oldWorld.getCBWorld().setAutoSave(true);
         }
-        
-        if (newWorldFile.exists()) {
+    }
+
+    /**
+     * Does everything for cloning a world that has to happen after the files are copied:
+     * adding the new world to the config and loading it.
+     *
+     * @param job The clone.
+     * @param copied Whether all files were copied.
+     * @return The new world or null if it could not be created.
+     */
+    private MultiverseWorld finishClone(CloneJob job, boolean copied) {
+        this.restoreCloneSource(job);
+        String oldName = job.oldName;
+        String newName = job.newName;
+        if (copied && job.newWorldFile.exists()) {
             Logging.fine("Succeeded at copying files");
 
             // initialize new properties with old ones
@@ -200,24 +452,172 @@ public class WorldManager implements MVWorldManager {
             newProps.setAlias("");
             // store the new properties in worlds config map
             this.worldsFromTheConfig.put(newName, newProps);
+            this.rebuildConfigAliasIndex();
 
             // save the worlds config to disk (worlds.yml)
-            if (!saveWorldsConfig()) {
-                Logging.severe("Failed to save worlds.yml");
-                return false;
-            }
+            this.markWorldConfigDirty(newName);
 
             // actually load the world
             if (doLoad(newName)) {
                Logging.fine("Succeeded at loading cloned world '" + newName + "'");
-               return true;
+               return this.getMVWorld(newName, false);
             }
             Logging.severe("Failed to load the cloned world '" + newName + "'");
-            return false;
+            return null;
         }
 
         Logging.warning("Failed to copy files for world '%s', see the log info", newName);
-        return false;
+        return null;
+    }
+
+    private synchronized ExecutorService getCloneExecutor() {
+        if (this.cloneExecutor == null) {
+            this.cloneExecutor = Executors.newFixedThreadPool(CLONE_THREADS, new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "Multiverse-Clone-" + this.count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return this.cloneExecutor;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void shutdown() {
+        ExecutorService executor;
+        synchronized (this) {
+            executor = this.cloneExecutor;
+            this.cloneExecutor = null;
+        }
+        // The copies can't finish on the main thread anymore, so turn autosave back on now.
+        for (CloneJob job : this.pendingClones.values()) {
+            Logging.warning("Cloning of world '%s' to '%s' was interrupted.", job.oldName, job.newName);
+            this.restoreCloneSource(job);
+        }
+        this.pendingClones.clear();
+        this.worldSnapshots.shutdown();
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        try {
+            // Give the copies a moment to clean up after themselves.
+            if (!executor.awaitTermination(CLONE_SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                Logging.warning("Some world files are still being copied, they may be incomplete.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A world that is being cloned.
+     */
+    private static final class CloneJob {
+        private final String oldName;
+        private final String newName;
+        private final File oldWorldFile;
+        private final File newWorldFile;
+        private final MultiverseWorld oldWorld;
+        private final boolean wasAutoSave;
+
+        private CloneJob(String oldName, String newName, File oldWorldFile, File newWorldFile,
+                         MultiverseWorld oldWorld, boolean wasAutoSave) {
+            this.oldName = oldName;
+            this.newName = newName;
+            this.oldWorldFile = oldWorldFile;
+            this.newWorldFile = newWorldFile;
+            this.oldWorld = oldWorld;
+            this.wasAutoSave = wasAutoSave;
+        }
+    }
+
+    /**
+     * Keeps track of the files copied for a clone, reports the progress and stops the copy when the clone is cancelled.
+     */
+    private final class CloneProgress implements FileUtils.CopyListener {
+        private final CloneJob job;
+        private final CommandSender sender;
+        private final CompletableFuture<MultiverseWorld> future;
+        private int totalFiles;
+        private long totalBytes;
+        private int copiedFiles;
+        private long copiedBytes;
+        private long lastReport;
+        private boolean measured;
+
+        private CloneProgress(CloneJob job, CommandSender sender, CompletableFuture<MultiverseWorld> future) {
+            this.job = job;
+            this.sender = sender;
+            this.future = future;
+        }
+
+        /**
+         * Counts the files that are going to be copied.
+         */
+        private void measure() {
+            try (Stream<Path> files = Files.walk(this.job.oldWorldFile.toPath())) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    if (Files.isRegularFile(file) && !CLONE_IGNORE_FILES.contains(file.getFileName().toString())) {
+                        this.totalFiles++;
+                        this.totalBytes += Files.size(file);
+                    }
+                }
+            } catch (IOException | UncheckedIOException e) {
+                Logging.fine("Could not measure world '%s': %s", this.job.oldName, e.getMessage());
+            }
+            this.lastReport = System.currentTimeMillis();
+        }
+
+        @Override
+        public boolean fileCopied(Path file, long bytes) {
+            if (!this.measured) {
+                this.measured = true;
+                this.measure();
+            }
+            this.copiedFiles++;
+            this.copiedBytes += bytes;
+            long now = System.currentTimeMillis();
+            // Always tell when the last file is done, copy-on-write links are reported all at once.
+            if (now - this.lastReport >= CLONE_PROGRESS_INTERVAL || this.copiedFiles == this.totalFiles) {
+                this.lastReport = now;
+                this.report();
+            }
+            return !this.isStopped();
+        }
+
+        @Override
+        public boolean isStopped() {
+            // Interrupted when the plugin is disabled.
+            return this.future.isCancelled() || Thread.currentThread().isInterrupted();
+        }
+
+        private void report() {
+            final String message = String.format("Cloning '%s': %d%% (%d/%d files, %d/%d MB)", this.job.newName,
+                    this.totalBytes > 0 ? this.copiedBytes * 100 / this.totalBytes : 0, // SUPPRESS CHECKSTYLE: MagicNumberCheck
+                    this.copiedFiles, this.totalFiles, this.copiedBytes >> 20, this.totalBytes >> 20);
+            Logging.fine(message);
+            if (this.sender == null) {
+                return;
+            }
+            try {
+                plugin.getServer().getScheduler().runTask(plugin, new Runnable() {
+                    @Override
+                    public void run() {
+                        sender.sendMessage(message);
+                    }
+                });
+            } catch (IllegalPluginAccessException ignored) {
+                // Disabled, nobody to tell.
+            }
+        }
     }
 
     /**
@@ -272,6 +672,7 @@ public class WorldManager implements MVWorldManager {
         if (!worldsFromTheConfig.containsKey(name)) {
             WorldProperties props = new WorldProperties(useSpawnAdjust, env);
             worldsFromTheConfig.put(name, props);
+            this.rebuildConfigAliasIndex();
         }
 
         StringBuilder builder = new StringBuilder();
@@ -294,7 +695,7 @@ public class WorldManager implements MVWorldManager {
         // set generator (special case because we can't read it from org.bukkit.World)
         this.worlds.get(name).setGenerator(generator);
 
-        this.saveWorldsConfig();
+        this.markWorldConfigDirty(name);
         return true;
     }
 
@@ -330,9 +731,10 @@ public class WorldManager implements MVWorldManager {
         }
         if (this.worldsFromTheConfig.containsKey(name)) {
             this.worldsFromTheConfig.remove(name);
+            this.rebuildConfigAliasIndex();
             Logging.info("World '%s' was removed from config.yml", name);
 
-            this.saveWorldsConfig();
+            this.markWorldConfigDirty(name);
             return true;
         } else {
             Logging.info("World '%s' was already removed from config.yml", name);
@@ -387,11 +789,11 @@ public class WorldManager implements MVWorldManager {
         if (this.worlds.containsKey(name)) {
             this.worldsFromTheConfig.get(name).cacheVirtualProperties();
             if (unloadBukkit && this.unloadWorldFromBukkit(name, true)) {
-                this.worlds.remove(name);
+                this.forgetWorld(name);
                 Logging.info("World '%s' was unloaded from Bukkit.", name);
                 return true;
             } else if (!unloadBukkit){
-                this.worlds.remove(name);
+                this.forgetWorld(name);
                 Logging.info("World '%s' was unloaded from Multiverse.", name);
                 return true;
             } else {
@@ -409,6 +811,23 @@ public class WorldManager implements MVWorldManager {
         return false;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> unloadWorldAsync(String name) {
+        if (!this.worlds.containsKey(name)) {
+            return CompletableFuture.completedFuture(this.unloadWorld(name));
+        }
+        // Anyone who couldn't be moved in time is removed the old way by unloadWorld.
+        return this.removePlayersFromWorldAsync(name).handle((empty, error) -> {
+            if (error != null) {
+                Logging.warning("Moving the players out of world '%s' failed, removing them right away: %s", name, error);
+            }
+            return this.unloadWorld(name);
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -421,12 +840,82 @@ public class WorldManager implements MVWorldManager {
 
         // Check that the world is in the config
         if (worldsFromTheConfig.containsKey(name)) {
-            return doLoad(name);
+            return !this.isRestoring(name) && doLoad(name);
         } else {
             return false;
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isLazyUnloadedWorld(String name) {
+        if (name == null || this.isMVWorld(name)) {
+            return false;
+        }
+        String worldName = this.getConfigWorldName(name);
+        return worldName != null && this.worldsFromTheConfig.get(worldName).getLazyLoad();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean loadLazyWorld(String name) {
+        if (name == null) {
+            return false;
+        }
+        if (this.isMVWorld(name)) {
+            return true;
+        }
+        if (!this.isLazyUnloadedWorld(name)) {
+            return false;
+        }
+        String worldName = this.getConfigWorldName(name);
+        if (this.isRestoring(worldName)) {
+            return false;
+        }
+        Logging.info("Loading world '%s' on demand...", worldName);
+        return this.loadWorld(worldName);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getConfigWorldName(String name) {
+        if (this.worldsFromTheConfig.containsKey(name)) {
+            return name;
+        }
+        return this.configWorldsByAlias.get(aliasKey(name));
+    }
+
+    /**
+     * Turns an alias or a differently cased name of a world in the config into its actual name.
+     *
+     * @param name The name or alias of the world.
+     * @return The name of the world in the config, or the given name if there is no such world.
+     */
+    private String resolveConfigWorldName(String name) {
+        String worldName = this.getConfigWorldName(name);
+        return worldName != null ? worldName : name;
+    }
+
+    /**
+     * Checks whether a world is being restored from a snapshot, and so must not be loaded.
+     *
+     * @param name The name of the world.
+     * @return True if the world can't be loaded right now.
+     */
+    private boolean isRestoring(String name) {
+        if (this.worldSnapshots.isRestoring(name)) {
+            Logging.warning("World '%s' is being restored from a snapshot, it can be loaded once that is done.", name);
+            return true;
+        }
+        return false;
+    }
+
     private void brokenWorld(String name) {
         Logging.severe("The world '" + name + "' could NOT be loaded because it contains errors and is probably corrupt!");
         Logging.severe("Try using Minecraft Region Fixer to repair your world! '" + name + "'");
@@ -447,6 +936,20 @@ public class WorldManager implements MVWorldManager {
         if (!worldsFromTheConfig.containsKey(name))
             throw new IllegalArgumentException("That world doesn't exist!");
 
+        final WorldCreator creator = this.prepareWorldCreator(name, type);
+        return creator != null && doLoad(creator, ignoreExists);
+    }
+
+    /**
+     * Builds the {@link WorldCreator} for a world from the config, resolving its generator.
+     * <p>
+     * This asks the generator plugin for the generator, so it has to be called on the main thread.
+     *
+     * @param name The name of the world.
+     * @param type The {@link WorldType} to force, or null to use the default.
+     * @return The {@link WorldCreator} or null if the generator could not be set.
+     */
+    private WorldCreator prepareWorldCreator(final String name, WorldType type) {
         final WorldProperties world = worldsFromTheConfig.get(name);
         final WorldCreator creator = WorldCreator.name(name);
 
@@ -465,7 +968,12 @@ public class WorldManager implements MVWorldManager {
                 }
             }, "the generator plugin", "Failed to set the generator for world '%s' to '%s': %s", name, world.getGenerator());
 
-        return generatorSuccess && doLoad(creator, ignoreExists);
+        return generatorSuccess ? creator : null;
+    }
+
+    private boolean worldFolderExists(String worldName) {
+        return new File(this.plugin.getServer().getWorldContainer(), worldName).exists()
+                || new File(this.plugin.getServer().getWorldContainer().getParent(), worldName).exists();
     }
 
     private boolean doLoad(WorldCreator creator, boolean ignoreExists) {
@@ -474,8 +982,11 @@ public class WorldManager implements MVWorldManager {
             throw new IllegalArgumentException("That world doesn't exist!");
         if (worlds.containsKey(worldName))
             throw new IllegalArgumentException("That world is already loaded!");
+        if (this.isRestoring(worldName)) {
+            return false;
+        }
 
-        if (!ignoreExists && !new File(this.plugin.getServer().getWorldContainer(), worldName).exists() && !new File(this.plugin.getServer().getWorldContainer().getParent(), worldName).exists()) {
+        if (!ignoreExists && !this.worldFolderExists(worldName)) {
             Logging.warning("WorldManager: Can't load this world because the folder was deleted/moved: " + worldName);
             Logging.warning("Use '/mv remove' to remove it from the config!");
             return false;
@@ -496,9 +1007,10 @@ public class WorldManager implements MVWorldManager {
         }
         MVWorld world = new MVWorld(plugin, cbworld, mvworld);
         if (MultiverseCoreConfiguration.getInstance().isAutoPurgeEnabled()) {
-            this.worldPurger.purgeWorld(world);
+            this.worldPurger.purgeWorldIncrementally(world);
         }
         this.worlds.put(worldName, world);
+        this.worldsByAlias.putIfAbsent(aliasKey(world.getAlias()), world);
         return true;
     }
 
@@ -506,7 +1018,8 @@ public class WorldManager implements MVWorldManager {
      * {@inheritDoc}
      */
     @Override
-    public boolean deleteWorld(String name, boolean removeFromConfig, boolean deleteWorldFolder) {
+    public boolean deleteWorld(String worldName, boolean removeFromConfig, boolean deleteWorldFolder) {
+        String name = this.resolveConfigWorldName(worldName);
         if (this.hasUnloadedWorld(name, false)) {
             // Attempt to load if unloaded so we can actually delete the world
             if (!this.doLoad(name)) {
@@ -541,7 +1054,8 @@ public class WorldManager implements MVWorldManager {
         try {
             File worldFile = world.getWorldFolder();
             Logging.finer("deleteWorld(): worldFile: " + worldFile.getAbsolutePath());
-            if (deleteWorldFolder ? FileUtils.deleteFolder(worldFile) : FileUtils.deleteFolderContents(worldFile)) {
+            // The files are deleted in the background, the folder is only moved out of the way here.
+            if (this.worldTrash.trash(worldFile, !deleteWorldFolder)) {
                 Logging.info("World '%s' was DELETED.", name);
                 return true;
             } else {
@@ -605,6 +1119,21 @@ public class WorldManager implements MVWorldManager {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> removePlayersFromWorldAsync(String name) {
+        World w = this.plugin.getServer().getWorld(name);
+        if (w == null) {
+            return CompletableFuture.completedFuture(true);
+        }
+        World safeWorld = this.plugin.getServer().getWorlds().get(0);
+        // We're removing players forcefully from a world, they'd BETTER spawn safely.
+        return this.plugin.getSafeTTeleporter().safelyTeleportAll(w.getPlayers(), safeWorld.getSpawnLocation(), true)
+                .thenApply(teleported -> w.getPlayers().isEmpty());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -654,12 +1183,7 @@ public class WorldManager implements MVWorldManager {
      * @return A {@link MVWorld} or null.
      */
     private MultiverseWorld getMVWorldByAlias(String alias) {
-        for (MultiverseWorld w : this.worlds.values()) {
-            if (w.getAlias().equalsIgnoreCase(alias)) {
-                return w;
-            }
-        }
-        return null;
+        return this.worldsByAlias.get(aliasKey(alias));
     }
 
     /**
@@ -693,34 +1217,180 @@ public class WorldManager implements MVWorldManager {
      * @return True if the world exists, false if not.
      */
     private boolean isMVWorldAlias(final String alias) {
-        for (MultiverseWorld w : this.worlds.values()) {
-            if (w.getAlias().equalsIgnoreCase(alias)) {
-                return true;
-            }
-        }
-        return false;
+        return alias != null && this.worldsByAlias.containsKey(aliasKey(alias));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void loadDefaultWorlds() {
-        this.ensureConfigIsPrepared();
-        List<World> myWorlds = this.plugin.getServer().getWorlds();
-        for (World w : myWorlds) {
-            String name = w.getName();
-            if (!worldsFromTheConfig.containsKey(name)) {
-                String generator = null;
-                if (this.defaultGens.containsKey(name)) {
-                    generator = this.defaultGens.get(name);
-                }
-                this.addWorld(name, w.getEnvironment(), String.valueOf(w.getSeed()), w.getWorldType(), w.canGenerateStructures(), generator);
-            }
+    public void updateAliasIndex(MultiverseWorld world, String oldAlias, String newAlias) {
+        String name = world.getName();
+        // Worlds without an alias are found by their name, just like MultiverseWorld.getAlias() does.
+        this.unindexAlias(world, (oldAlias == null || oldAlias.isEmpty()) ? name : oldAlias);
+        if (this.worlds.get(name) == world) {
+            this.worldsByAlias.putIfAbsent(aliasKey((newAlias == null || newAlias.isEmpty()) ? name : newAlias), world);
+        }
+        if (oldAlias != null && !oldAlias.isEmpty()) {
+            this.configWorldsByAlias.remove(aliasKey(oldAlias), name);
+        }
+        if (newAlias != null && !newAlias.isEmpty()) {
+            this.configWorldsByAlias.putIfAbsent(aliasKey(newAlias), name);
         }
     }
 
-    private void ensureConfigIsPrepared() {
+    /**
+     * Removes a world that was unloaded, after its properties have been cached.
+     *
+     * @param name The name of the world.
+     */
+    private void forgetWorld(String name) {
+        MultiverseWorld world = this.worlds.remove(name);
+        this.unindexAlias(world);
+        if (world instanceof MVWorld) {
+            // Caching the properties may have asked the server for the world again.
+            ((MVWorld) world).invalidateCBWorld();
+        }
+    }
+
+    private void unindexAlias(MultiverseWorld world) {
+        if (world != null) {
+            this.unindexAlias(world, world.getAlias());
+        }
+    }
+
+    private void unindexAlias(MultiverseWorld world, String alias) {
+        String key = aliasKey(alias);
+        if (this.worldsByAlias.remove(key, world)) {
+            // Aliases aren't unique, another world may have been hiding behind this one.
+            for (MultiverseWorld other : this.worlds.values()) {
+                if (other != world && aliasKey(other.getAlias()).equals(key)) {
+                    this.worldsByAlias.putIfAbsent(key, other);
+                    break;
+                }
+            }
+        }
+    }
+
+    private void rebuildAliasIndex() {
+        this.worldsByAlias.clear();
+        for (MultiverseWorld world : this.worlds.values()) {
+            this.worldsByAlias.putIfAbsent(aliasKey(world.getAlias()), world);
+        }
+    }
+
+    private void rebuildConfigAliasIndex() {
+        this.configWorldsByAlias.clear();
+        for (Map.Entry<String, WorldProperties> entry : this.worldsFromTheConfig.entrySet()) {
+            String alias = entry.getValue().getAlias();
+            if (alias != null && !alias.isEmpty()) {
+                this.configWorldsByAlias.putIfAbsent(aliasKey(alias), entry.getKey());
+            }
+        }
+    }
+
+    private static String aliasKey(String alias) {
+        return alias.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void loadDefaultWorlds() {
+        this.ensureConfigIsPrepared();
+        List<World> myWorlds = this.plugin.getServer().getWorlds();
+        this.beginPermissionBulk();
+        try {
+            for (World w : myWorlds) {
+                String name = w.getName();
+                if (!worldsFromTheConfig.containsKey(name)) {
+                    String generator = null;
+                    if (this.defaultGens.containsKey(name)) {
+                        generator = this.defaultGens.get(name);
+                    }
+                    this.addWorld(name, w.getEnvironment(), String.valueOf(w.getSeed()), w.getWorldType(), w.canGenerateStructures(), generator);
+                }
+            }
+        } finally {
+            this.endPermissionBulk();
+        }
+    }
+
+    /**
+     * Starts registering world permissions in bulk. Until the matching {@link #endPermissionBulk()},
+     * parent permissions get their children added but are not recalculated.
+     */
+    private void beginPermissionBulk() {
+        this.permissionBulkDepth++;
+    }
+
+    /**
+     * Ends registering world permissions in bulk and recalculates every parent permission that changed, once.
+     */
+    private void endPermissionBulk() {
+        if (--this.permissionBulkDepth > 0) {
+            return;
+        }
+        long startTime = System.nanoTime();
+        int count = this.deferredPermissionDefaults.size() + this.deferredPermissibles.size();
+        for (Permission parent : this.deferredPermissionDefaults) {
+            this.plugin.getServer().getPluginManager().recalculatePermissionDefaults(parent);
+        }
+        for (Permission parent : this.deferredPermissibles) {
+            parent.recalculatePermissibles();
+        }
+        this.deferredPermissionDefaults.clear();
+        this.deferredPermissibles.clear();
+        if (count > 0) {
+            this.invalidatePermissionDecisions();
+            Logging.fine("Recalculated %d parent permission(s) in %d ms", count,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRegisteringPermissionsInBulk() {
+        return this.permissionBulkDepth > 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deferPermissionRecalculation(Permission parent, boolean defaults) {
+        if (parent == null) {
+            return;
+        }
+        if (!this.isRegisteringPermissionsInBulk()) {
+            if (defaults) {
+                this.plugin.getServer().getPluginManager().recalculatePermissionDefaults(parent);
+            } else {
+                parent.recalculatePermissibles();
+            }
+            this.invalidatePermissionDecisions();
+        } else if (defaults) {
+            this.deferredPermissionDefaults.add(parent);
+        } else {
+            this.deferredPermissibles.add(parent);
+        }
+    }
+
+    /**
+     * Forgets the world permission decisions of all players, the permissions just changed.
+     */
+    private void invalidatePermissionDecisions() {
+        MVPermissions perms = this.plugin.getMVPerms();
+        // Worlds are loaded before the permissions are set up.
+        if (perms != null) {
+            perms.invalidateAll();
+        }
+    }
+
+    private void ensureConfigIsPrepared() {
         this.configWorlds.options().pathSeparator(SEPARATOR);
         if (this.configWorlds.getConfigurationSection("worlds") == null) {
             this.configWorlds.createSection("worlds");
@@ -732,6 +1402,15 @@ public class WorldManager implements MVWorldManager {
      */
     @Override
     public void loadWorlds(boolean forceLoad) {
+        this.beginPermissionBulk();
+        try {
+            this.doLoadWorlds(forceLoad);
+        } finally {
+            this.endPermissionBulk();
+        }
+    }
+
+    private void doLoadWorlds(boolean forceLoad) {
         // Basic Counter to count how many Worlds we are loading.
         int count = 0;
         this.ensureConfigIsPrepared();
@@ -748,33 +1427,194 @@ public class WorldManager implements MVWorldManager {
                     allAccess.getChildren().remove(w.getAccessPermission().getName());
                 }
                 if (allExempt != null) {
-                    allExempt.getChildren().remove(w.getAccessPermission().getName());
+                    allExempt.getChildren().remove(w.getExemptPermission().getName());
                 }
                 this.plugin.getServer().getPluginManager().removePermission(w.getAccessPermission().getName());
                 this.plugin.getServer().getPluginManager().removePermission(w.getExemptPermission().getName());
                 // Special namespace for gamemodes
                 this.plugin.getServer().getPluginManager().removePermission("mv.bypass.gamemode." + w.getName());
             }
-            // Recalc the all permission
-            this.plugin.getServer().getPluginManager().recalculatePermissionDefaults(allAccess);
-            this.plugin.getServer().getPluginManager().recalculatePermissionDefaults(allExempt);
+            // Recalc the all permission, once the new worlds are in as well
+            this.deferPermissionRecalculation(allAccess, true);
+            this.deferPermissionRecalculation(allExempt, true);
             this.worlds.clear();
+            this.worldsByAlias.clear();
         }
 
+        List<String> toLoad = new ArrayList<String>();
         for (Map.Entry<String, WorldProperties> entry : worldsFromTheConfig.entrySet()) {
             if (worlds.containsKey(entry.getKey())) {
                 continue;
             }
-            if (!entry.getValue().getAutoLoad())
+            // Lazy worlds get loaded once someone wants to go there.
+            if (!entry.getValue().getAutoLoad() || entry.getValue().getLazyLoad())
                 continue;
 
-            if (doLoad(entry.getKey()))
-                count++;
+            toLoad.add(entry.getKey());
         }
+        count = this.loadWorldsInParallel(toLoad);
 
         // Simple Output to the Console to show how many Worlds were loaded.
         Logging.config("%s - World(s) loaded.", count);
-        this.saveWorldsConfig();
+        this.dirtyWorlds.addAll(this.worldsFromTheConfig.keySet());
+        this.scheduleWorldsConfigSave();
+        // Get rid of anything that expired in the trash while we were offline.
+        this.worldTrash.emptyLater(0L);
+    }
+
+    /**
+     * Loads the given worlds in two phases.
+     * <p>
+     * First the file work (folder checks, reading level.dat/uid.dat) runs in parallel. Then the
+     * generators are resolved and the worlds are created one by one on the calling thread, the first
+     * spawn world and any respawn targets first, so worlds others depend on are available as soon as
+     * possible. Generators are never asked for off the main thread, as generator plugins don't expect that.
+     *
+     * @param names The names of the worlds to load.
+     * @return The number of worlds that were loaded.
+     */
+    private int loadWorldsInParallel(List<String> names) {
+        if (names.isEmpty()) {
+            return 0;
+        }
+        long startTime = System.nanoTime();
+        int threads = Math.max(1, Math.min(names.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<PreparedWorld> prepared = new ArrayList<PreparedWorld>(names.size());
+        try {
+            List<Future<PreparedWorld>> futures = new ArrayList<Future<PreparedWorld>>(names.size());
+            for (final String name : names) {
+                futures.add(executor.submit(new Callable<PreparedWorld>() {
+                    @Override
+                    public PreparedWorld call() throws Exception {
+                        return prepareWorld(name);
+                    }
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    prepared.add(futures.get(i).get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    Logging.severe("Interrupted while preparing worlds, preparing the rest one by one.");
+                    // Still load every startup world, just without the help of the other threads.
+                    for (int j = i; j < names.size(); j++) {
+                        prepared.add(this.prepareWorld(names.get(j)));
+                    }
+                    break;
+                } catch (ExecutionException e) {
+                    Logging.severe("Failed to prepare world '%s': %s", names.get(i), e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long prepTime = System.nanoTime() - startTime;
+
+        // Worlds other worlds depend on go first, everything else keeps the config order.
+        final Set<String> priority = this.getLoadPriorityWorlds(names);
+        Collections.sort(prepared, new Comparator<PreparedWorld>() {
+            @Override
+            public int compare(PreparedWorld a, PreparedWorld b) {
+                return Boolean.compare(!priority.contains(a.name), !priority.contains(b.name));
+            }
+        });
+
+        int count = 0;
+        for (PreparedWorld world : prepared) {
+            if (!world.folderExists) {
+                continue;
+            }
+            long loadStart = System.nanoTime();
+            WorldCreator creator = this.prepareWorldCreator(world.name, null);
+            if (creator != null && this.doLoad(creator, true)) {
+                count++;
+            }
+            world.loadTime = System.nanoTime() - loadStart;
+            Logging.fine("Startup timing for '%s': prepared in %d ms, created in %d ms",
+                    world.name, TimeUnit.NANOSECONDS.toMillis(world.prepTime),
+                    TimeUnit.NANOSECONDS.toMillis(world.loadTime));
+        }
+
+        PreparedWorld slowest = Collections.max(prepared, new Comparator<PreparedWorld>() {
+            @Override
+            public int compare(PreparedWorld a, PreparedWorld b) {
+                return Long.compare(a.prepTime + a.loadTime, b.prepTime + b.loadTime);
+            }
+        });
+        Logging.config("Prepared %d world(s) in %d ms on %d thread(s), loading took %d ms. Slowest world: '%s' (%d ms)",
+                names.size(), TimeUnit.NANOSECONDS.toMillis(prepTime), threads,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime - prepTime),
+                slowest.name, TimeUnit.NANOSECONDS.toMillis(slowest.prepTime + slowest.loadTime));
+        return count;
+    }
+
+    /**
+     * Does all the work for loading a world that can be done off the main thread.
+     *
+     * @param name The name of the world.
+     * @return A {@link PreparedWorld}, which says whether the world's folder is there.
+     */
+    private PreparedWorld prepareWorld(String name) {
+        long startTime = System.nanoTime();
+        PreparedWorld prepared = new PreparedWorld(name);
+        if (!this.worldFolderExists(name)) {
+            Logging.warning("WorldManager: Can't load this world because the folder was deleted/moved: " + name);
+            Logging.warning("Use '/mv remove' to remove it from the config!");
+        } else {
+            // Reading these now means the server finds them in the file cache when it creates the world.
+            File worldFolder = new File(this.plugin.getServer().getWorldContainer(), name);
+            for (String fileName : Arrays.asList("level.dat", "uid.dat")) {
+                File file = new File(worldFolder, fileName);
+                if (!file.isFile()) {
+                    continue;
+                }
+                try {
+                    Files.readAllBytes(file.toPath());
+                } catch (IOException e) {
+                    Logging.warning("Could not read '%s' of world '%s': %s", fileName, name, e.getMessage());
+                }
+            }
+            prepared.folderExists = true;
+        }
+        prepared.prepTime = System.nanoTime() - startTime;
+        return prepared;
+    }
+
+    /**
+     * Gets the worlds that should be loaded before all others: the first spawn world and
+     * every world that is used as a respawn world.
+     *
+     * @param names The names of the worlds that are about to be loaded.
+     * @return The names of the worlds to load first.
+     */
+    private Set<String> getLoadPriorityWorlds(List<String> names) {
+        Set<String> priority = new HashSet<String>();
+        String firstSpawnWorld = this.plugin.getMVConfig().getFirstSpawnWorld();
+        if (firstSpawnWorld != null) {
+            priority.add(firstSpawnWorld);
+        }
+        for (String name : names) {
+            String respawnWorld = this.worldsFromTheConfig.get(name).getRespawnToWorld();
+            if (respawnWorld != null && !respawnWorld.isEmpty()) {
+                priority.add(respawnWorld);
+            }
+        }
+        return priority;
+    }
+
+    /**
+     * The result of preparing a world for loading on startup.
+     */
+    private static final class PreparedWorld {
+        private final String name;
+        private boolean folderExists;
+        private long prepTime;
+        private long loadTime;
+
+        private PreparedWorld(String name) {
+            this.name = name;
+        }
     }
 
     private void ensureSecondNamespaceIsPrepared() {
@@ -804,12 +1644,31 @@ public class WorldManager implements MVWorldManager {
     }
 
     private static final char SEPARATOR = '\uF8FF';
+    private static final long WORLDS_CONFIG_SAVE_DELAY = 20L;
+    private static final List<String> CLONE_IGNORE_FILES = Collections.unmodifiableList(Arrays.asList("session.lock", "uid.dat"));
+    private static final int CLONE_THREADS = 2;
+    private static final long CLONE_PROGRESS_INTERVAL = 2000L;
+    private static final long CLONE_SHUTDOWN_TIMEOUT = 5000L;
+    private static final long REGEN_TICK_BUDGET = TimeUnit.MILLISECONDS.toNanos(10L);
+    private static final int REGEN_SPAWN_RADIUS = 8;
 
     public boolean isKeepingSpawnInMemory(World world) {
+        if (this.isPreparingSpawnArea(world)) {
+            // The spawn area gets generated bit by bit after loading.
+            return false;
+        }
         WorldProperties properties = worldsFromTheConfig.get(world.getName());
         return properties == null || properties.isKeepingSpawnInMemory();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isPreparingSpawnArea(World world) {
+        return this.skipSpawnPreparation.contains(world.getName());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -853,6 +1712,8 @@ public class WorldManager implements MVWorldManager {
         }
         this.worldsFromTheConfig = newWorldsFromTheConfig;
         this.worlds.keySet().retainAll(this.worldsFromTheConfig.keySet());
+        this.rebuildAliasIndex();
+        this.rebuildConfigAliasIndex();
         return this.configWorlds;
     }
 
@@ -861,17 +1722,112 @@ public class WorldManager implements MVWorldManager {
      */
     @Override
     public boolean saveWorldsConfig() {
-        try {
-            this.configWorlds.options().pathSeparator(SEPARATOR);
-            this.configWorlds.set("worlds", null);
-            for (Map.Entry<String, WorldProperties> entry : worldsFromTheConfig.entrySet()) {
-                this.configWorlds.set("worlds" + SEPARATOR + entry.getKey(), entry.getValue());
+        // Anything pending is covered by this save.
+        if (this.pendingSave != null) {
+            this.pendingSave.cancel();
+            this.pendingSave = null;
+        }
+        this.dirtyWorlds.clear();
+        CompletableFuture<Boolean> result = this.pendingSaveResult;
+        this.pendingSaveResult = null;
+        this.configWorlds.options().pathSeparator(SEPARATOR);
+        this.configWorlds.set("worlds", null);
+        for (Map.Entry<String, WorldProperties> entry : worldsFromTheConfig.entrySet()) {
+            this.configWorlds.set("worlds" + SEPARATOR + entry.getKey(), entry.getValue());
+        }
+        boolean saved = this.writeWorldsConfig(this.configWorlds.saveToString(), ++this.saveGeneration);
+        if (result != null) {
+            result.complete(saved);
+        }
+        return saved;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> markWorldConfigDirty(String name) {
+        this.dirtyWorlds.add(name);
+        return this.scheduleWorldsConfigSave();
+    }
+
+    private CompletableFuture<Boolean> scheduleWorldsConfigSave() {
+        if (!this.plugin.isEnabled()) {
+            // We can't schedule anything, so save right away.
+            return CompletableFuture.completedFuture(this.saveWorldsConfig());
+        }
+        if (this.pendingSaveResult == null) {
+            this.pendingSaveResult = new CompletableFuture<Boolean>();
+        }
+        CompletableFuture<Boolean> result = this.pendingSaveResult;
+        if (this.pendingSave == null) {
+            this.pendingSave = this.plugin.getServer().getScheduler().runTaskLater(this.plugin, new Runnable() {
+                @Override
+                public void run() {
+                    saveDirtyWorlds();
+                }
+            }, WORLDS_CONFIG_SAVE_DELAY);
+        }
+        return result;
+    }
+
+    /**
+     * Puts the changed worlds into the config and writes it to disk on another thread.
+     * <p>
+     * The config is turned into a string here, so the writer works on a snapshot.
+     */
+    private void saveDirtyWorlds() {
+        this.pendingSave = null;
+        final CompletableFuture<Boolean> result = this.pendingSaveResult;
+        this.pendingSaveResult = null;
+        if (this.dirtyWorlds.isEmpty()) {
+            if (result != null) {
+                result.complete(true);
             }
-            this.configWorlds.save(new File(this.plugin.getDataFolder(), "worlds.yml"));
+            return;
+        }
+        this.configWorlds.options().pathSeparator(SEPARATOR);
+        for (String name : this.dirtyWorlds) {
+            // Removed worlds are null, which removes them from the config.
+            this.configWorlds.set("worlds" + SEPARATOR + name, this.worldsFromTheConfig.get(name));
+        }
+        this.dirtyWorlds.clear();
+        final String snapshot = this.configWorlds.saveToString();
+        final long generation = ++this.saveGeneration;
+        this.plugin.getServer().getScheduler().runTaskAsynchronously(this.plugin, new Runnable() {
+            @Override
+            public void run() {
+                final boolean saved = writeWorldsConfig(snapshot, generation);
+                if (result == null) {
+                    return;
+                }
+                try {
+                    plugin.getServer().getScheduler().runTask(plugin, new Runnable() {
+                        @Override
+                        public void run() {
+                            result.complete(saved);
+                        }
+                    });
+                } catch (IllegalPluginAccessException e) {
+                    // We're being disabled, nobody is waiting for the main thread anymore.
+                    result.complete(saved);
+                }
+            }
+        });
+    }
+
+    private boolean writeWorldsConfig(String snapshot, long generation) {
+        synchronized (this.writeLock) {
+            if (generation <= this.writtenGeneration) {
+                // A newer snapshot is already on disk.
+                return true;
+            }
+            if (!FileUtils.writeAtomically(new File(this.plugin.getDataFolder(), "worlds.yml"), snapshot)) {
+                Logging.severe("Could not save worlds.yml. Please check your settings.");
+                return false;
+            }
+            this.writtenGeneration = generation;
             return true;
-        } catch (IOException e) {
-            Logging.severe("Could not save worlds.yml. Please check your settings.");
-            return false;
         }
     }
 
@@ -905,30 +1861,20 @@ public class WorldManager implements MVWorldManager {
      * {@inheritDoc}
      */
     @Override
-    public boolean regenWorld(String name, boolean useNewSeed, boolean randomSeed, String seed, boolean keepGameRules) {
-        MultiverseWorld world = this.getMVWorld(name);
+    public boolean regenWorld(String worldName, boolean useNewSeed, boolean randomSeed, String seed, boolean keepGameRules) {
+        MultiverseWorld world = this.getMVWorld(worldName);
         if (world == null) {
             Logging.warning("Unable to regen a world that does not exist!");
             return false;
         }
+        // The world might have been given by its alias.
+        String name = world.getName();
 
         List<Player> ps = world.getCBWorld().getPlayers();
 
         // Apply new seed if needed.
         if (useNewSeed) {
-            long theSeed;
-
-            if (randomSeed) {
-                theSeed = new Random().nextLong();
-            } else {
-                try {
-                    theSeed = Long.parseLong(seed);
-                } catch (NumberFormatException e) {
-                    theSeed = seed.hashCode();
-                }
-            }
-
-            world.setSeed(theSeed);
+            world.setSeed(getRegenSeed(randomSeed, seed));
         }
 
         WorldType type = world.getWorldType();
@@ -936,15 +1882,7 @@ public class WorldManager implements MVWorldManager {
         // Save current GameRules if needed.
         Map<GameRule<?>, Object> gameRuleMap = null;
         if (keepGameRules) {
-            gameRuleMap = new HashMap<>(GameRule.values().length);
-            World CBWorld = world.getCBWorld();
-            for (GameRule<?> gameRule : GameRule.values()) {
-                // Only save if not default value.
-                Object value = CBWorld.getGameRuleValue(gameRule.getName());
-                if (value != "false" /*CBWorld.getGameRuleDefault(gameRule)*/) {
-                    gameRuleMap.put(gameRule, value);
-                }
-            }
+            gameRuleMap = getGameRules(world.getCBWorld());
         }
 
         // Do the regen.
@@ -962,17 +1900,11 @@ public class WorldManager implements MVWorldManager {
 
         // Load back GameRules if needed.
         if (keepGameRules) {
-            Logging.fine("Restoring previous world's GameRules...");
-            World CBWorld = world.getCBWorld();
-            for (Map.Entry<GameRule<?>, Object> gameRuleEntry : gameRuleMap.entrySet()) {
-                if (!setGameRuleValue(CBWorld, gameRuleEntry.getKey(), gameRuleEntry.getValue())) {
-                    Logging.warning("Unable to set GameRule '%s' to '%s' on regen world.",
-                            gameRuleEntry.getKey().getName(), gameRuleEntry.getValue());
-                }
-            }
+            this.restoreGameRules(world.getCBWorld(), gameRuleMap);
         }
 
         // Send all players that were in the old world, BACK to it!
+        // Done right away, as callers expect them to be back once this returns.
         SafeTTeleporter teleporter = this.plugin.getSafeTTeleporter();
         Location newSpawn = world.getSpawnLocation();
         for (Player p : ps) {
@@ -990,6 +1922,288 @@ public class WorldManager implements MVWorldManager {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> regenWorldAsync(String name, boolean useNewSeed, boolean randomSeed, String seed,
+                                                      boolean keepGameRules, CommandSender sender) {
+        RegenPipeline pipeline = new RegenPipeline(name, sender);
+        pipeline.start(useNewSeed, randomSeed, seed, keepGameRules);
+        return pipeline.future;
+    }
+
+    private static long getRegenSeed(boolean randomSeed, String seed) {
+        if (randomSeed) {
+            return new Random().nextLong();
+        }
+        try {
+            return Long.parseLong(seed);
+        } catch (NumberFormatException e) {
+            return seed.hashCode();
+        }
+    }
+
+    /**
+     * Reads the GameRules of a world with the type of each rule.
+     *
+     * @param world The world.
+     * @return The values of all GameRules the world knows about.
+     */
+    private static Map<GameRule<?>, Object> getGameRules(World world) {
+        Map<GameRule<?>, Object> gameRules = new HashMap<>(GameRule.values().length);
+        for (GameRule<?> gameRule : GameRule.values()) {
+            if (!world.isGameRule(gameRule.getName())) {
+                // Not in this version of the game.
+                continue;
+            }
+            String value = world.getGameRuleValue(gameRule.getName());
+            if (value == null || value.isEmpty()) {
+                continue;
+            }
+            if (gameRule.getType() == Boolean.class) {
+                gameRules.put(gameRule, Boolean.valueOf(value));
+            } else if (gameRule.getType() == Integer.class) {
+                try {
+                    gameRules.put(gameRule, Integer.valueOf(value));
+                } catch (NumberFormatException e) {
+                    Logging.fine("Ignoring GameRule '%s' with odd value '%s'.", gameRule.getName(), value);
+                }
+            }
+        }
+        return gameRules;
+    }
+
+    private void restoreGameRules(World world, Map<GameRule<?>, Object> gameRules) {
+        Logging.fine("Restoring previous world's GameRules...");
+        for (Map.Entry<GameRule<?>, Object> gameRuleEntry : gameRules.entrySet()) {
+            if (!setGameRuleValue(world, gameRuleEntry.getKey(), gameRuleEntry.getValue())) {
+                Logging.warning("Unable to set GameRule '%s' to '%s' on regen world.",
+                        gameRuleEntry.getKey().getName(), gameRuleEntry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Regenerates a world in stages spread over several ticks.
+     * <p>
+     * The players are parked in the default world, the old world is moved to the trash and loaded with
+     * the new seed, without preparing its spawn area. The spawn chunks are then generated a few at a time
+     * on each tick, and finally the players are brought back in small batches.
+     */
+    private final class RegenPipeline {
+        private final String name;
+        private final CommandSender sender;
+        private final CompletableFuture<Boolean> future;
+        private final Map<String, Long> timings;
+        private final long startTime;
+        private long stageStart;
+        private List<Player> players;
+        private Location parking;
+        private Map<GameRule<?>, Object> gameRules;
+        private World world;
+        private Deque<long[]> chunks;
+        private int chunkCount;
+
+        private RegenPipeline(String name, CommandSender sender) {
+            this.name = resolveConfigWorldName(name);
+            this.sender = sender;
+            this.future = new CompletableFuture<Boolean>();
+            this.timings = new LinkedHashMap<String, Long>();
+            this.startTime = System.nanoTime();
+            this.stageStart = this.startTime;
+        }
+
+        private void start(boolean useNewSeed, boolean randomSeed, String seed, boolean keepGameRules) {
+            MultiverseWorld mvWorld = getMVWorld(this.name);
+            if (mvWorld == null) {
+                Logging.warning("Unable to regen a world that does not exist!");
+                this.future.complete(false);
+                return;
+            }
+            World oldWorld = mvWorld.getCBWorld();
+            World parking = plugin.getServer().getWorlds().get(0);
+            if (oldWorld.equals(parking)) {
+                Logging.severe("Unable to regen world as the default world cannot be unloaded.");
+                this.future.complete(false);
+                return;
+            }
+
+            // Whatever happens, the spawn area has to be kept in memory again at the end.
+            this.future.whenComplete((regenerated, error) -> this.endSpawnPreparation());
+
+            // Park the players where they can wait.
+            this.players = new ArrayList<Player>(oldWorld.getPlayers());
+            this.parking = parking.getSpawnLocation();
+            plugin.getSafeTTeleporter().safelyTeleportAll(this.players, this.parking, true)
+                    .whenComplete((parked, error) -> {
+                        if (error != null) {
+                            Logging.severe("Unable to regen world as the players could not be moved out of it: %s", error);
+                            this.returnPlayers(oldWorld.getSpawnLocation());
+                            this.future.complete(false);
+                            return;
+                        }
+                        this.next(() -> this.regenerate(useNewSeed, randomSeed, seed, keepGameRules));
+                    });
+        }
+
+        private void regenerate(boolean useNewSeed, boolean randomSeed, String seed, boolean keepGameRules) {
+            this.endStage("park");
+            MultiverseWorld mvWorld = getMVWorld(this.name);
+            if (mvWorld == null) {
+                Logging.warning("World '%s' was unloaded while players were leaving it, not regenerating it.", this.name);
+                this.future.complete(false);
+                return;
+            }
+            World oldWorld = mvWorld.getCBWorld();
+            if (useNewSeed) {
+                mvWorld.setSeed(getRegenSeed(randomSeed, seed));
+            }
+            WorldType type = mvWorld.getWorldType();
+            if (keepGameRules) {
+                this.gameRules = getGameRules(oldWorld);
+            }
+
+            // The files are deleted in the background by the trash.
+            if (!deleteWorld(this.name, false, false)) {
+                Logging.severe("Unable to regen world as world cannot be deleted.");
+                this.returnPlayers(oldWorld.getSpawnLocation());
+                this.future.complete(false);
+                return;
+            }
+            this.endStage("delete");
+
+            // Loading must not generate the spawn area, neither through the world init nor the world's properties.
+            skipSpawnPreparation.add(this.name);
+            if (!doLoad(this.name, true, type)) {
+                Logging.severe("Unable to regen world as world cannot be loaded.");
+                this.returnPlayers(this.parking);
+                this.future.complete(false);
+                return;
+            }
+            this.world = getMVWorld(this.name).getCBWorld();
+            if (this.gameRules != null) {
+                restoreGameRules(this.world, this.gameRules);
+            }
+            this.endStage("load");
+
+            this.chunks = getSpawnChunks(this.world);
+            this.chunkCount = this.chunks.size();
+            this.next(this::generateChunks);
+        }
+
+        /**
+         * Generates spawn chunks until the budget of this tick is used up.
+         */
+        private void generateChunks() {
+            long deadline = System.nanoTime() + REGEN_TICK_BUDGET;
+            while (!this.chunks.isEmpty() && System.nanoTime() < deadline) {
+                long[] chunk = this.chunks.poll();
+                this.world.loadChunk((int) chunk[0], (int) chunk[1], true);
+            }
+            if (!this.chunks.isEmpty()) {
+                this.next(this::generateChunks);
+                return;
+            }
+            this.endStage("pregen");
+            this.endSpawnPreparation();
+            this.returnPlayers(getMVWorld(this.name).getSpawnLocation());
+        }
+
+        /**
+         * Lets the world keep its spawn area in memory again, if it is supposed to.
+         */
+        private void endSpawnPreparation() {
+            if (!skipSpawnPreparation.remove(this.name)) {
+                return;
+            }
+            MultiverseWorld mvWorld = getMVWorld(this.name);
+            if (mvWorld != null && mvWorld.isKeepingSpawnInMemory()) {
+                // The chunks are generated by now, so this is cheap.
+                mvWorld.setKeepSpawnInMemory(true);
+            }
+        }
+
+        /**
+         * Brings the parked players back, spread over as many ticks as it takes.
+         *
+         * @param location Where to bring them.
+         */
+        private void returnPlayers(final Location location) {
+            plugin.getSafeTTeleporter().safelyTeleportAll(this.players, location, true).whenComplete((returned, error) -> {
+                if (this.world != null) {
+                    this.endStage("return");
+                    this.finish();
+                }
+            });
+        }
+
+        private void finish() {
+            StringBuilder stages = new StringBuilder();
+            for (Map.Entry<String, Long> timing : this.timings.entrySet()) {
+                if (stages.length() > 0) {
+                    stages.append(", ");
+                }
+                stages.append(timing.getKey()).append(' ').append(timing.getValue()).append(" ms");
+            }
+            String message = String.format("Regenerated world '%s' in %d ms (%s, %d chunks)", this.name,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.startTime), stages, this.chunkCount);
+            Logging.config(message);
+            if (this.sender != null) {
+                this.sender.sendMessage(message);
+            }
+            this.future.complete(true);
+        }
+
+        private void endStage(String stage) {
+            long now = System.nanoTime();
+            this.timings.put(stage, TimeUnit.NANOSECONDS.toMillis(now - this.stageStart));
+            Logging.fine("Regen of '%s': %s took %d ms", this.name, stage, this.timings.get(stage));
+            this.stageStart = now;
+        }
+
+        /**
+         * Runs the next step of the pipeline on the next tick.
+         *
+         * @param step The step.
+         */
+        private void next(final Runnable step) {
+            try {
+                plugin.getServer().getScheduler().runTask(plugin, () -> {
+                    try {
+                        step.run();
+                    } catch (RuntimeException e) {
+                        Logging.severe("Regen of world '%s' failed: %s", this.name, e);
+                        this.future.completeExceptionally(e);
+                    }
+                });
+            } catch (IllegalPluginAccessException e) {
+                this.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Gets the chunks that make up the spawn area of a world, from the spawn outwards.
+     *
+     * @param world The world.
+     * @return The x and z of each chunk.
+     */
+    private Deque<long[]> getSpawnChunks(World world) {
+        Location spawn = world.getSpawnLocation();
+        int centerX = spawn.getBlockX() >> 4;
+        int centerZ = spawn.getBlockZ() >> 4;
+        int radius = Math.min(this.plugin.getServer().getViewDistance(), REGEN_SPAWN_RADIUS);
+        List<long[]> chunks = new ArrayList<long[]>();
+        for (int x = -radius; x <= radius; x++) {
+            for (int z = -radius; z <= radius; z++) {
+                chunks.add(new long[] {centerX + x, centerZ + z});
+            }
+        }
+        chunks.sort(Comparator.comparingLong((long[] chunk) -> Math.max(Math.abs(chunk[0] - centerX), Math.abs(chunk[1] - centerZ))));
+        return new ArrayDeque<long[]>(chunks);
+    }
+
     /**
      * Gets the {@link FileConfiguration} that this {@link WorldManager} is using.
      * @return The {@link FileConfiguration} that this {@link WorldManager} is using.
@@ -1006,12 +2220,7 @@ public class WorldManager implements MVWorldManager {
 		if (getMVWorld(name) != null) {
 			return includeLoaded;
 		}
-		for (Map.Entry<String, WorldProperties> entry : this.worldsFromTheConfig.entrySet()) {
-			if (name.equals(entry.getKey()) || name.equals(entry.getValue().getAlias())) {
-				return true;
-			}
-		}
-		return false;
+		return getConfigWorldName(name) != null;
 	}
 
     /**
@@ -1019,15 +2228,10 @@ public class WorldManager implements MVWorldManager {
      */
     @Override
 	public Collection<String> getPotentialWorlds() {
-        File worldContainer = this.plugin.getServer().getWorldContainer();
-        if (worldContainer == null) {
-            return Collections.emptyList();
-        }
-        return Arrays.stream(worldContainer.listFiles())
-                .filter(File::isDirectory)
-                .filter(folder -> !this.isMVWorld(folder.getName(), false))
-                .filter(WorldNameChecker::isValidWorldFolder)
-                .map(File::getName)
+        // Served from memory, the index watches the world container for changes.
+        return this.potentialWorldIndex.getWorldFolders().stream()
+                .filter(name -> !this.isMVWorld(name, false))
+                .sorted()
                 .collect(Collectors.toList());
     }
 }
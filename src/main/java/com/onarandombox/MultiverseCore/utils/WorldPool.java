@@ -0,0 +1,278 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.utils;
+
+import com.dumptruckman.minecraft.util.Logging;
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import com.onarandombox.MultiverseCore.api.MVWorldManager;
+import com.onarandombox.MultiverseCore.api.MultiverseWorld;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps clones of template worlds loaded and ready, so they can be handed out right away.
+ * <p>
+ * Worlds are cloned one at a time, and only while the server keeps up with its ticks.
+ * Pooled worlds are named {@code <template>_pool_<number>}. Ready worlds from an earlier
+ * run that follow this naming are taken back into the pool when its size is set.
+ */
+public class WorldPool implements Runnable {
+    /**
+     * How often the pools are checked, in ticks.
+     */
+    public static final long CHECK_INTERVAL = 20L;
+
+    /**
+     * A tick may take this long on average for the server to count as idle enough to clone a world.
+     */
+    private static final long MAX_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(55L);
+    private static final long RETRY_DELAY = TimeUnit.MINUTES.toMillis(1L);
+
+    private final MultiverseCore plugin;
+    private final Map<String, Integer> sizes;
+    private final Map<String, Deque<String>> ready;
+    private final Map<String, String> claimed;
+    private final Map<String, Long> failedAt;
+    private CompletableFuture<MultiverseWorld> refill;
+    private BukkitTask task;
+    private long lastRun;
+
+    public WorldPool(MultiverseCore plugin) {
+        this.plugin = plugin;
+        this.sizes = new LinkedHashMap<String, Integer>();
+        this.ready = new HashMap<String, Deque<String>>();
+        this.claimed = new HashMap<String, String>();
+        this.failedAt = new HashMap<String, Long>();
+    }
+
+    /**
+     * Sets how many ready worlds are kept for a template.
+     *
+     * @param template The name of the template world.
+     * @param size The number of worlds, 0 to remove the pool.
+     * @return False if the template world is unknown.
+     */
+    public boolean setSize(String template, int size) {
+        MVWorldManager worldManager = this.plugin.getMVWorldManager();
+        MultiverseWorld templateWorld = worldManager.getMVWorld(template);
+        if (templateWorld != null) {
+            template = templateWorld.getName();
+        } else {
+            String configName = worldManager.getConfigWorldName(template);
+            if (configName == null) {
+                return false;
+            }
+            template = configName;
+        }
+        if (size <= 0) {
+            this.sizes.remove(template);
+        } else {
+            this.sizes.put(template, size);
+            if (!this.ready.containsKey(template)) {
+                this.ready.put(template, new ArrayDeque<String>());
+                this.adoptWorlds(template);
+            }
+        }
+        if (this.task == null && !this.sizes.isEmpty()) {
+            this.task = this.plugin.getServer().getScheduler().runTaskTimer(this.plugin, this, CHECK_INTERVAL, CHECK_INTERVAL);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of ready worlds for a template.
+     *
+     * @param template The name of the template world.
+     * @return The number of worlds that can be claimed right now.
+     */
+    public int getReadyCount(String template) {
+        Deque<String> worlds = this.getReadyWorlds(template);
+        return worlds == null ? 0 : worlds.size();
+    }
+
+    /**
+     * Hands out a ready world of a template.
+     *
+     * @param template The name of the template world.
+     * @return The world or null if none is ready.
+     */
+    public MultiverseWorld claim(String template) {
+        Deque<String> worlds = this.getReadyWorlds(template);
+        if (worlds == null) {
+            return null;
+        }
+        while (!worlds.isEmpty()) {
+            String name = worlds.poll();
+            MultiverseWorld world = this.plugin.getMVWorldManager().getMVWorld(name, false);
+            World cbWorld = this.plugin.getServer().getWorld(name);
+            if (world == null || cbWorld == null || !cbWorld.getPlayers().isEmpty()) {
+                // Somebody else got to it, it's not ours anymore.
+                Logging.fine("Pooled world '%s' is no longer usable, dropping it from the pool.", name);
+                continue;
+            }
+            this.claimed.put(name, template);
+            Logging.fine("Handed out pooled world '%s', %d left.", name, worlds.size());
+            return world;
+        }
+        return null;
+    }
+
+    /**
+     * Gives back a claimed world. The world is deleted and the pool refills on its own.
+     *
+     * @param name The name of the claimed world.
+     * @return True if the world was claimed from a pool and has been deleted.
+     */
+    public boolean release(String name) {
+        if (this.claimed.remove(name) == null) {
+            return false;
+        }
+        return this.plugin.getMVWorldManager().deleteWorld(name);
+    }
+
+    /**
+     * Checks whether a world is waiting in a pool to be claimed.
+     *
+     * @param name The name of the world.
+     * @return True if the world is a ready pooled world.
+     */
+    public boolean isReady(String name) {
+        for (Deque<String> worlds : this.ready.values()) {
+            if (worlds.contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void run() {
+        long now = System.nanoTime();
+        long elapsed = now - this.lastRun;
+        this.lastRun = now;
+        if (this.refill != null && !this.refill.isDone()) {
+            return;
+        }
+        if (elapsed > CHECK_INTERVAL * MAX_TICK_NANOS) {
+            // The server is behind, cloning can wait.
+            return;
+        }
+
+        Iterator<Map.Entry<String, Deque<String>>> it = this.ready.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Deque<String>> entry = it.next();
+            String template = entry.getKey();
+            Deque<String> worlds = entry.getValue();
+            Integer size = this.sizes.get(template);
+            int wanted = size == null ? 0 : size;
+            if (worlds.size() > wanted) {
+                // One world per check, deleting takes a while too.
+                String name = worlds.pollLast();
+                Logging.fine("Pool of '%s' is too big, deleting '%s'.", template, name);
+                this.plugin.getMVWorldManager().deleteWorld(name);
+                return;
+            }
+            if (size == null) {
+                it.remove();
+                continue;
+            }
+            if (worlds.size() < wanted && this.canRetry(template)) {
+                this.startRefill(template);
+                return;
+            }
+        }
+        if (this.sizes.isEmpty() && this.ready.isEmpty() && this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+    }
+
+    private void startRefill(final String template) {
+        final String name = this.nextWorldName(template);
+        Logging.fine("Cloning '%s' to '%s' for the world pool.", template, name);
+        this.refill = this.plugin.getMVWorldManager().cloneWorldAsync(template, name, null);
+        this.refill.whenComplete((world, error) -> {
+            if (world == null) {
+                Logging.warning("Could not clone '%s' for the world pool, trying again in a minute.", template);
+                this.failedAt.put(template, System.currentTimeMillis());
+                return;
+            }
+            this.failedAt.remove(template);
+            Deque<String> worlds = this.ready.get(template);
+            if (worlds == null) {
+                // The pool was removed while we were cloning.
+                this.plugin.getMVWorldManager().deleteWorld(world.getName());
+                return;
+            }
+            worlds.add(world.getName());
+        });
+    }
+
+    private boolean canRetry(String template) {
+        Long failed = this.failedAt.get(template);
+        return failed == null || System.currentTimeMillis() - failed >= RETRY_DELAY;
+    }
+
+    private String nextWorldName(String template) {
+        MVWorldManager worldManager = this.plugin.getMVWorldManager();
+        File container = this.plugin.getServer().getWorldContainer();
+        for (int i = 1; ; i++) {
+            String name = template + "_pool_" + i;
+            if (!worldManager.hasUnloadedWorld(name, true) && !this.claimed.containsKey(name)
+                    && !new File(container, name).exists()) {
+                return name;
+            }
+        }
+    }
+
+    /**
+     * Takes back the empty pooled worlds of a template that are still around from an earlier run.
+     *
+     * @param template The name of the template world.
+     */
+    private void adoptWorlds(String template) {
+        Pattern pattern = Pattern.compile(Pattern.quote(template + "_pool_") + "\\d+");
+        Deque<String> worlds = this.ready.get(template);
+        for (MultiverseWorld world : this.plugin.getMVWorldManager().getMVWorlds()) {
+            String name = world.getName();
+            World cbWorld = this.plugin.getServer().getWorld(name);
+            if (pattern.matcher(name).matches() && !this.claimed.containsKey(name)
+                    && cbWorld != null && cbWorld.getPlayers().isEmpty()) {
+                worlds.add(name);
+            }
+        }
+        if (!worlds.isEmpty()) {
+            Logging.config("Took %d existing world(s) back into the pool of '%s'.", worlds.size(), template);
+        }
+    }
+
+    private Deque<String> getReadyWorlds(String template) {
+        Deque<String> worlds = this.ready.get(template);
+        if (worlds == null) {
+            MultiverseWorld templateWorld = this.plugin.getMVWorldManager().getMVWorld(template);
+            if (templateWorld != null) {
+                worlds = this.ready.get(templateWorld.getName());
+            }
+        }
+        return worlds;
+    }
+}
@@ -0,0 +1,536 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.utils;
+
+import com.dumptruckman.minecraft.util.Logging;
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import com.onarandombox.MultiverseCore.api.MVWorldManager;
+import com.onarandombox.MultiverseCore.api.MultiverseWorld;
+import org.bukkit.World;
+import org.bukkit.plugin.IllegalPluginAccessException;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stores snapshots of worlds and restores worlds from them.
+ * <p>
+ * The files of a world are stored gzipped under the SHA-256 of their content in {@code snapshots/objects},
+ * so a file that is the same in several snapshots is only stored once. Each snapshot is a manifest in
+ * {@code snapshots/worlds/<world>} that lists the path, hash, size and modification time of every file.
+ * Files whose size and modification time didn't change since the last snapshot of the world aren't even read.
+ * <p>
+ * All file work happens on a single background thread, one snapshot operation at a time. A world that is
+ * being restored can't be loaded until its files are complete again.
+ */
+public class WorldSnapshots {
+    private static final List<String> IGNORE_FILES = Collections.unmodifiableList(Arrays.asList("session.lock", "uid.dat"));
+    private static final Pattern VALID_NAME = Pattern.compile("[a-zA-Z0-9_.-]+");
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String MANIFEST_EXTENSION = ".snapshot";
+    private static final long SHUTDOWN_TIMEOUT = 60000L;
+
+    private final MultiverseCore plugin;
+    private final Set<String> restoring;
+    private ExecutorService executor;
+
+    public WorldSnapshots(MultiverseCore plugin) {
+        this.plugin = plugin;
+        this.restoring = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Checks whether the files of a world are being restored right now.
+     *
+     * @param worldName The name of the world.
+     * @return True if the world must not be loaded yet.
+     */
+    public boolean isRestoring(String worldName) {
+        return this.restoring.contains(worldName);
+    }
+
+    /**
+     * Waits for the snapshot operations that are still running, so no world is left half written.
+     * Operations that haven't started yet are still run, but can't report back anymore.
+     */
+    public void shutdown() {
+        ExecutorService executor;
+        synchronized (this) {
+            executor = this.executor;
+            this.executor = null;
+        }
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                Logging.severe("Snapshot operations are still running, world files may be incomplete.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Takes a snapshot of a world.
+     *
+     * @param worldName The name or alias of the world.
+     * @param snapshotName The name of the new snapshot.
+     * @return A future that completes on the main thread with true if the snapshot was taken.
+     */
+    public CompletableFuture<Boolean> create(String worldName, String snapshotName) {
+        final CompletableFuture<Boolean> future = new CompletableFuture<Boolean>();
+        final String name = this.getWorldName(worldName);
+        if (name == null || !this.checkSnapshotName(snapshotName)) {
+            future.complete(false);
+            return future;
+        }
+        final File manifest = this.getManifestFile(name, snapshotName);
+        if (manifest.exists()) {
+            Logging.warning("Snapshot '%s' of world '%s' already exists.", snapshotName, name);
+            future.complete(false);
+            return future;
+        }
+
+        // Flush the world and keep the files still while we read them.
+        final World world = this.plugin.getServer().getWorld(name);
+        final boolean wasAutoSave = world != null && world.isAutoSave();
+        if (world != null) {
+            world.setAutoSave(false);
+            world.save();
+        }
+        final File worldFolder = new File(this.plugin.getServer().getWorldContainer(), name);
+        this.getExecutor().execute(() -> {
+            boolean success;
+            try {
+                success = this.writeSnapshot(worldFolder, manifest);
+            } catch (IOException | RuntimeException e) {
+                Logging.warning("Could not take snapshot '%s' of world '%s': %s", snapshotName, name, e);
+                success = false;
+            }
+            final boolean result = success;
+            this.runOnMainThread(future, () -> {
+                if (wasAutoSave && this.plugin.getServer().getWorld(name) == world) {
+                    world.setAutoSave(true);
+                }
+                future.complete(result);
+            });
+        });
+        return future;
+    }
+
+    /**
+     * Restores a world from a snapshot. A loaded world is unloaded first and loaded again afterwards.
+     *
+     * @param worldName The name or alias of the world.
+     * @param snapshotName The name of the snapshot.
+     * @return A future that completes on the main thread with true if the world was restored.
+     */
+    public CompletableFuture<Boolean> restore(String worldName, String snapshotName) {
+        final CompletableFuture<Boolean> future = new CompletableFuture<Boolean>();
+        final String name = this.getWorldName(worldName);
+        if (name == null || !this.checkSnapshotName(snapshotName)) {
+            future.complete(false);
+            return future;
+        }
+        final File manifest = this.getManifestFile(name, snapshotName);
+        if (!manifest.isFile()) {
+            Logging.warning("World '%s' has no snapshot named '%s'.", name, snapshotName);
+            future.complete(false);
+            return future;
+        }
+
+        final MVWorldManager worldManager = this.plugin.getMVWorldManager();
+        final boolean wasLoaded = worldManager.isMVWorld(name, false);
+        if (wasLoaded && !worldManager.unloadWorld(name)) {
+            Logging.warning("Could not unload world '%s' to restore it.", name);
+            future.complete(false);
+            return future;
+        }
+        if (!this.restoring.add(name)) {
+            Logging.warning("World '%s' is already being restored.", name);
+            future.complete(false);
+            return future;
+        }
+        final File worldFolder = new File(this.plugin.getServer().getWorldContainer(), name);
+        this.getExecutor().execute(() -> {
+            boolean success;
+            try {
+                success = this.restoreSnapshot(worldFolder, manifest);
+            } catch (IOException | RuntimeException e) {
+                Logging.severe("Could not restore world '%s' from snapshot '%s': %s", name, snapshotName, e);
+                success = false;
+            }
+            final boolean result = success;
+            if (!result) {
+                Logging.severe("World '%s' may be incomplete now, restore it again before loading it.", name);
+            }
+            this.restoring.remove(name);
+            this.runOnMainThread(future, () -> {
+                boolean loaded = !wasLoaded || worldManager.loadWorld(name);
+                future.complete(result && loaded);
+            });
+        });
+        return future;
+    }
+
+    /**
+     * Gets the snapshots of a world.
+     *
+     * @param worldName The name or alias of the world.
+     * @return The names of the snapshots, oldest first.
+     */
+    public List<String> list(String worldName) {
+        String name = this.getWorldName(worldName);
+        List<String> names = new ArrayList<String>();
+        if (name == null) {
+            return names;
+        }
+        for (File manifest : this.getManifests(name)) {
+            String fileName = manifest.getName();
+            names.add(fileName.substring(0, fileName.length() - MANIFEST_EXTENSION.length()));
+        }
+        return names;
+    }
+
+    /**
+     * Removes all but the newest snapshots of a world, along with the stored files no snapshot needs anymore.
+     *
+     * @param worldName The name or alias of the world.
+     * @param keep The number of snapshots to keep.
+     * @return A future that completes on the main thread with the number of removed snapshots.
+     */
+    public CompletableFuture<Integer> prune(String worldName, final int keep) {
+        final CompletableFuture<Integer> future = new CompletableFuture<Integer>();
+        final String name = this.getWorldName(worldName);
+        if (name == null) {
+            future.complete(0);
+            return future;
+        }
+        this.getExecutor().execute(() -> {
+            List<File> manifests = this.getManifests(name);
+            int removed = 0;
+            for (int i = 0; i < manifests.size() - Math.max(0, keep); i++) {
+                if (manifests.get(i).delete()) {
+                    removed++;
+                }
+            }
+            try {
+                this.removeUnusedObjects();
+            } catch (IOException | RuntimeException e) {
+                Logging.warning("Could not clean up the snapshot store: %s", e);
+            }
+            final int result = removed;
+            this.runOnMainThread(future, () -> future.complete(result));
+        });
+        return future;
+    }
+
+    private boolean writeSnapshot(File worldFolder, File manifest) throws IOException {
+        long startTime = System.currentTimeMillis();
+        Map<String, Entry> previous = new HashMap<String, Entry>();
+        List<File> manifests = this.getManifests(worldFolder.getName());
+        if (!manifests.isEmpty()) {
+            for (Entry entry : readManifest(manifests.get(manifests.size() - 1))) {
+                previous.put(entry.path, entry);
+            }
+        }
+
+        Path root = worldFolder.toPath();
+        StringBuilder content = new StringBuilder();
+        int stored = 0;
+        int reused = 0;
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (!Files.isRegularFile(file) || IGNORE_FILES.contains(file.getFileName().toString())) {
+                    continue;
+                }
+                String path = root.relativize(file).toString().replace(File.separatorChar, '/');
+                long size = Files.size(file);
+                long modified = Files.getLastModifiedTime(file).toMillis();
+                Entry old = previous.get(path);
+                String hash;
+                if (old != null && old.size == size && old.modified == modified && this.getObjectFile(old.hash).isFile()) {
+                    hash = old.hash;
+                    reused++;
+                } else {
+                    hash = this.storeObject(file);
+                    stored++;
+                }
+                content.append(hash).append(' ').append(size).append(' ').append(modified).append(' ').append(path).append('\n');
+            }
+        }
+        manifest.getParentFile().mkdirs();
+        if (!FileUtils.writeAtomically(manifest, content.toString())) {
+            return false;
+        }
+        Logging.config("Took snapshot '%s' of world '%s' in %d ms: %d file(s) read, %d unchanged.", manifest.getName(),
+                worldFolder.getName(), System.currentTimeMillis() - startTime, stored, reused);
+        return true;
+    }
+
+    private boolean restoreSnapshot(File worldFolder, File manifest) throws IOException {
+        long startTime = System.currentTimeMillis();
+        List<Entry> entries = readManifest(manifest);
+        for (Entry entry : entries) {
+            if (!this.getObjectFile(entry.hash).isFile()) {
+                Logging.severe("Snapshot '%s' is missing the data of '%s'.", manifest.getName(), entry.path);
+                return false;
+            }
+        }
+        if (worldFolder.isDirectory() && !FileUtils.deleteFolderContents(worldFolder, IGNORE_FILES)) {
+            return false;
+        }
+        Path root = worldFolder.toPath().normalize();
+        for (Entry entry : entries) {
+            Path target = root.resolve(entry.path).normalize();
+            if (!target.startsWith(root)) {
+                Logging.severe("Snapshot '%s' points outside of the world folder: %s", manifest.getName(), entry.path);
+                return false;
+            }
+            Files.createDirectories(target.getParent());
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(this.getObjectFile(entry.hash).toPath()), BUFFER_SIZE)) {
+                Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            // Same time as in the manifest, so the next snapshot knows the file didn't change.
+            Files.setLastModifiedTime(target, FileTime.fromMillis(entry.modified));
+        }
+        Logging.config("Restored world '%s' from snapshot '%s' in %d ms.", worldFolder.getName(), manifest.getName(),
+                System.currentTimeMillis() - startTime);
+        return true;
+    }
+
+    /**
+     * Adds a file to the store.
+     *
+     * @param file The file.
+     * @return The hash of the file.
+     */
+    private String storeObject(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        Path objects = this.getObjectsFolder().toPath();
+        Files.createDirectories(objects);
+        Path temp = Files.createTempFile(objects, "object", ".tmp");
+        try {
+            // Hash and compress in one go, most files are new anyway.
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest);
+                 OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp), BUFFER_SIZE)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            }
+            String hash = toHex(digest.digest());
+            Path object = this.getObjectFile(hash).toPath();
+            if (!Files.exists(object)) {
+                Files.createDirectories(object.getParent());
+                try {
+                    Files.move(temp, object, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, object);
+                }
+            }
+            return hash;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Deletes the stored files that are not part of any snapshot.
+     */
+    private void removeUnusedObjects() throws IOException {
+        Set<String> used = new HashSet<String>();
+        File[] worlds = this.getWorldsFolder().listFiles();
+        if (worlds != null) {
+            for (File world : worlds) {
+                for (File manifest : this.getManifests(world.getName())) {
+                    for (Entry entry : readManifest(manifest)) {
+                        used.add(entry.hash);
+                    }
+                }
+            }
+        }
+        File objects = this.getObjectsFolder();
+        if (!objects.isDirectory()) {
+            return;
+        }
+        int removed = 0;
+        try (Stream<Path> files = Files.walk(objects.toPath())) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String fileName = file.getFileName().toString();
+                if (Files.isRegularFile(file) && fileName.endsWith(".gz")
+                        && !used.contains(fileName.substring(0, fileName.length() - 3))) {
+                    Files.delete(file);
+                    removed++;
+                }
+            }
+        }
+        Logging.fine("Removed %d unused file(s) from the snapshot store.", removed);
+    }
+
+    private static List<Entry> readManifest(File manifest) throws IOException {
+        List<Entry> entries = new ArrayList<Entry>();
+        try (BufferedReader reader = Files.newBufferedReader(manifest.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(" ", 4);
+                if (parts.length != 4) {
+                    continue;
+                }
+                try {
+                    entries.add(new Entry(parts[3], parts[0], Long.parseLong(parts[1]), Long.parseLong(parts[2])));
+                } catch (NumberFormatException e) {
+                    Logging.fine("Skipping broken line in snapshot '%s': %s", manifest.getName(), line);
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Gets the snapshots of a world.
+     *
+     * @param worldName The name of the world.
+     * @return The manifests, oldest first.
+     */
+    private List<File> getManifests(String worldName) {
+        File[] files = new File(this.getWorldsFolder(), worldName).listFiles((dir, fileName) -> fileName.endsWith(MANIFEST_EXTENSION));
+        if (files == null) {
+            return new ArrayList<File>();
+        }
+        List<File> manifests = new ArrayList<File>(Arrays.asList(files));
+        manifests.sort(Comparator.comparingLong(File::lastModified));
+        return manifests;
+    }
+
+    private String getWorldName(String worldName) {
+        MVWorldManager worldManager = this.plugin.getMVWorldManager();
+        MultiverseWorld world = worldManager.getMVWorld(worldName);
+        if (world != null) {
+            return world.getName();
+        }
+        // Unloaded worlds can be given by their alias too.
+        String configName = worldManager.getConfigWorldName(worldName);
+        if (configName != null) {
+            return configName;
+        }
+        Logging.warning("World '%s' does not exist.", worldName);
+        return null;
+    }
+
+    private boolean checkSnapshotName(String snapshotName) {
+        if (snapshotName == null || !VALID_NAME.matcher(snapshotName).matches()) {
+            Logging.warning("'%s' is not a valid snapshot name.", snapshotName);
+            return false;
+        }
+        return true;
+    }
+
+    private File getSnapshotsFolder() {
+        return new File(this.plugin.getDataFolder(), "snapshots");
+    }
+
+    private File getWorldsFolder() {
+        return new File(this.getSnapshotsFolder(), "worlds");
+    }
+
+    private File getObjectsFolder() {
+        return new File(this.getSnapshotsFolder(), "objects");
+    }
+
+    private File getManifestFile(String worldName, String snapshotName) {
+        return new File(new File(this.getWorldsFolder(), worldName), snapshotName + MANIFEST_EXTENSION);
+    }
+
+    private File getObjectFile(String hash) {
+        // Split up by the first two characters so no folder gets too big.
+        return new File(new File(this.getObjectsFolder(), hash.substring(0, 2)), hash + ".gz");
+    }
+
+    private void runOnMainThread(CompletableFuture<?> future, Runnable runnable) {
+        try {
+            this.plugin.getServer().getScheduler().runTask(this.plugin, runnable);
+        } catch (IllegalPluginAccessException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (this.executor == null) {
+            this.executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "Multiverse-Snapshots");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return this.executor;
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16)); // SUPPRESS CHECKSTYLE: MagicNumberCheck
+        }
+        return hex.toString();
+    }
+
+    /**
+     * A file in a snapshot.
+     */
+    private static final class Entry {
+        private final String path;
+        private final String hash;
+        private final long size;
+        private final long modified;
+
+        private Entry(String path, String hash, long size, long modified) {
+            this.path = path;
+            this.hash = hash;
+            this.size = size;
+            this.modified = modified;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/******************************************************************************
+ * Multiverse 2 Copyright (c) the Multiverse Team 2011.                       *
+ * Multiverse 2 is licensed under the BSD License.                            *
+ * For more information please check the README.md file included              *
+ * with this project.                                                         *
+ ******************************************************************************/
+
+package com.onarandombox.MultiverseCore.utils;
+
+import com.dumptruckman.minecraft.util.Logging;
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import org.bukkit.plugin.IllegalPluginAccessException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes world folders without holding up the server.
+ * <p>
+ * Folders are moved into the {@value #TRASH_FOLDER} folder of the world container right away,
+ * and deleted from there in the background once they have been kept for the configured time.
+ * Until then, a deleted world can be recovered by moving its folder back.
+ */
+public class WorldTrash {
+    /**
+     * The name of the folder deleted worlds are moved to.
+     */
+    public static final String TRASH_FOLDER = ".mv-trash";
+
+    private final MultiverseCore plugin;
+
+    public WorldTrash(MultiverseCore plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Gets the folder deleted worlds are moved to.
+     *
+     * @return The trash folder.
+     */
+    public File getTrashFolder() {
+        return new File(this.plugin.getServer().getWorldContainer(), TRASH_FOLDER);
+    }
+
+    /**
+     * Moves a world folder to the trash.
+     * <p>
+     * If the folder can't be moved, it is deleted right away instead.
+     *
+     * @param folder The world folder.
+     * @param keepFolder If true, an empty folder is left in place of the old one.
+     * @return true if the folder has been moved or deleted.
+     */
+    public boolean trash(File folder, boolean keepFolder) {
+        File trashFolder = this.getTrashFolder();
+        File target = new File(trashFolder, folder.getName() + "." + System.currentTimeMillis());
+        try {
+            Files.createDirectories(trashFolder.toPath());
+            Files.move(folder.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Logging.fine("'%s' is on another file system than the trash, deleting it right away.", folder);
+            return keepFolder ? FileUtils.deleteFolderContents(folder) : FileUtils.deleteFolder(folder);
+        } catch (IOException e) {
+            Logging.warning("Could not move '%s' to the trash, deleting it right away: %s", folder, e.getMessage());
+            return keepFolder ? FileUtils.deleteFolderContents(folder) : FileUtils.deleteFolder(folder);
+        }
+        Logging.fine("Moved '%s' to '%s'.", folder, target);
+        if (keepFolder && !folder.mkdir()) {
+            Logging.warning("Could not create an empty folder in place of '%s'.", folder);
+        }
+
+        long retention = TimeUnit.MINUTES.toMillis(Math.max(0, this.plugin.getMVConfig().getTrashRetentionMinutes()));
+        if (retention == 0) {
+            this.emptyLater(0L);
+        } else {
+            Logging.info("'%s' can be recovered from '%s' for %d minute(s).", folder.getName(), target,
+                    TimeUnit.MILLISECONDS.toMinutes(retention));
+            // One extra second so it has surely expired by then.
+            this.emptyLater(TimeUnit.MILLISECONDS.toSeconds(retention) * 20L + 20L); // SUPPRESS CHECKSTYLE: MagicNumberCheck
+        }
+        return true;
+    }
+
+    /**
+     * Deletes everything from the trash that has been kept long enough, in the background.
+     *
+     * @param delay The delay in ticks.
+     */
+    public void emptyLater(long delay) {
+        try {
+            this.plugin.getServer().getScheduler().runTaskLaterAsynchronously(this.plugin, this::emptyExpired, delay);
+        } catch (IllegalPluginAccessException e) {
+            // We're shutting down, the next start will take care of it.
+            Logging.fine("Could not schedule emptying the trash: %s", e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes everything from the trash that has been kept long enough.
+     */
+    private synchronized void emptyExpired() {
+        File[] entries = this.getTrashFolder().listFiles();
+        if (entries == null) {
+            return;
+        }
+        long retention = TimeUnit.MINUTES.toMillis(Math.max(0, this.plugin.getMVConfig().getTrashRetentionMinutes()));
+        long now = System.currentTimeMillis();
+        for (File entry : entries) {
+            long trashedAt = getTrashTime(entry);
+            if (trashedAt < 0) {
+                // Someone else put it there, it's not ours to delete.
+                Logging.fine("Leaving '%s' in the trash, it was not moved there by Multiverse.", entry.getName());
+                continue;
+            }
+            if (now - trashedAt < retention) {
+                continue;
+            }
+            long startTime = System.nanoTime();
+            FileUtils.deleteFolder(entry);
+            if (entry.exists()) {
+                Logging.severe("Could not delete '%s' from the trash. Please check your file permissions and delete it by hand.", entry);
+            } else {
+                Logging.info("Deleted '%s' from the trash in %d ms.", entry.getName(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+            }
+        }
+    }
+
+    /**
+     * Gets when a folder was moved to the trash.
+     *
+     * @param entry The folder in the trash.
+     * @return The time in milliseconds or -1 if the folder was not moved there by {@link #trash(File, boolean)}.
+     */
+    private static long getTrashTime(File entry) {
+        String name = entry.getName();
+        int dot = name.lastIndexOf('.');
+        if (dot >= 0) {
+            try {
+                return Long.parseLong(name.substring(dot + 1));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return -1L;
+    }
+}
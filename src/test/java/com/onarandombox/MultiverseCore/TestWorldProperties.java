@@ -210,6 +210,9 @@ public class TestWorldProperties {
         assertEquals(true, mvWorld.isHidden());
         mvWorld.setAlias("alias");
         assertEquals("alias", mvWorld.getAlias());
+        assertSame(mvWorld, worldManager.getMVWorld("ALIAS"));
+        assertTrue(worldManager.isMVWorld("alias"));
+        assertSame(netherWorld, worldManager.getMVWorld("WORLD_NETHER"));
         assertTrue(mvWorld.setColor("BLACK"));
         assertFalse(mvWorld.setColor("INVALID COLOR"));
         assertEquals(ChatColor.BLACK, mvWorld.getColor());
@@ -319,6 +322,7 @@ public class TestWorldProperties {
         mvWorld = worldManager.getMVWorld("world");
         assertEquals(true, mvWorld.isHidden());
         assertEquals("alias", mvWorld.getAlias());
+        assertSame(mvWorld, worldManager.getMVWorld("alias"));
         assertEquals(ChatColor.GREEN, mvWorld.getColor());
         assertEquals(ChatColor.GREEN + "alias" + ChatColor.WHITE, mvWorld.getColoredWorldString());
         assertEquals(false, mvWorld.isPVPEnabled());
@@ -3,7 +3,10 @@ package com.onarandombox.MultiverseCore;
 import com.onarandombox.MultiverseCore.api.MultiverseWorld;
 import com.onarandombox.MultiverseCore.api.WorldPurger;
 import com.onarandombox.MultiverseCore.utils.TestInstanceCreator;
+import org.bukkit.Chunk;
 import org.bukkit.World;
+import org.bukkit.entity.Arrow;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Sheep;
 import org.bukkit.entity.Zombie;
@@ -13,6 +16,7 @@ import org.junit.Test;
 
 import java.util.Arrays;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -106,6 +110,26 @@ public class TestWorldPurger {
         // I like sheep.
     }
 
+    @Test
+    public void testIncremental() throws Exception {
+        createAnimals();
+        // One arrow is found before its shooter and one after it.
+        Arrow before = mock(Arrow.class);
+        when(before.getShooter()).thenReturn(zombie);
+        Arrow after = mock(Arrow.class);
+        when(after.getShooter()).thenReturn(zombie);
+        Chunk chunk = mock(Chunk.class);
+        when(chunk.isLoaded()).thenReturn(true);
+        when(chunk.getEntities()).thenReturn(new Entity[] { before, sheep, zombie, after });
+        when(cbworld.getLoadedChunks()).thenReturn(new Chunk[] { chunk });
+
+        assertEquals(Integer.valueOf(1), purger.purgeWorldIncrementally(mvWorld, Arrays.asList("MONSTERS"), false, false, null).get());
+        verify(sheep, never()).remove();
+        verify(zombie).remove();
+        verify(before).remove();
+        verify(after).remove();
+    }
+
     private void createAnimals() {
         World world = mvWorld.getCBWorld();
         sheep = mock(Sheep.class);
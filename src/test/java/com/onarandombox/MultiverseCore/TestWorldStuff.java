@@ -9,15 +9,18 @@ package com.onarandombox.MultiverseCore;
 
 import com.onarandombox.MultiverseCore.api.MultiverseWorld;
 import com.onarandombox.MultiverseCore.exceptions.PropertyDoesNotExistException;
+import com.onarandombox.MultiverseCore.listeners.MVWorldListener;
 import com.onarandombox.MultiverseCore.utils.MockWorldFactory;
 import com.onarandombox.MultiverseCore.utils.TestInstanceCreator;
 import com.onarandombox.MultiverseCore.utils.WorldCreatorMatcher;
 import org.bukkit.ChatColor;
 import org.bukkit.GameMode;
 import org.bukkit.Server;
+import org.bukkit.World;
 import org.bukkit.WorldCreator;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
+import org.bukkit.event.world.WorldUnloadEvent;
 import org.bukkit.plugin.Plugin;
 import org.junit.After;
 import org.junit.Before;
@@ -29,6 +32,7 @@ import java.io.File;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
@@ -139,6 +143,33 @@ public class TestWorldStuff {
         verify(mockCommandSender, VerificationModeFactory.times(3)).sendMessage(ChatColor.GREEN + "Complete!");
     }
 
+    @Test
+    public void testUnloadedWorldLosesBukkitWorld() {
+        MockWorldFactory.createWorldDirectory("world");
+        Plugin plugin = mockServer.getPluginManager().getPlugin("Multiverse-Core");
+        Command mockCommand = mock(Command.class);
+        when(mockCommand.getName()).thenReturn("mv");
+        plugin.onCommand(mockCommandSender, mockCommand, "", new String[]{ "import", "world", "normal" });
+
+        MultiverseWorld mvWorld = creator.getCore().getMVWorldManager().getMVWorld("world");
+        assertNotNull(mvWorld);
+        World world = mvWorld.getCBWorld();
+        assertNotNull(world);
+
+        // The server still knows the world while the unload event is fired.
+        new MVWorldListener(creator.getCore()).unloadWorld(new WorldUnloadEvent(world));
+        when(mockServer.getWorld(world.getUID())).thenReturn(null);
+        when(mockServer.getWorld("world")).thenReturn(null);
+
+        assertNull(creator.getCore().getMVWorldManager().getMVWorld("world"));
+        try {
+            mvWorld.getCBWorld();
+            fail("The unloaded world should not be handed out anymore.");
+        } catch (IllegalStateException expected) {
+            // This is what we want.
+        }
+    }
+
     @Test
     public void testWorldCreation() {
         // Pull a core instance from the server.
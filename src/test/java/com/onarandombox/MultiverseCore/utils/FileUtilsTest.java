@@ -5,12 +5,14 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -68,6 +70,15 @@ public class FileUtilsTest {
         assertFalse(Files.isRegularFile(childDirFile));
     }
 
+    @Test
+    public void deleteFolderContents_keepingSomeFiles() {
+        FileUtils.deleteFolderContents(parentDir.toFile(), Arrays.asList("childDirFile.txt"));
+        assertTrue(Files.isDirectory(parentDir));
+        assertFalse(Files.isRegularFile(parentDirFile));
+        assertTrue(Files.isDirectory(childDir));
+        assertTrue(Files.isRegularFile(childDirFile));
+    }
+
     @Test
     public void copyFolder() throws Exception {
         Path targetDir = tempDir.resolve("target");
@@ -116,6 +127,20 @@ public class FileUtilsTest {
         assertFalse(Files.isRegularFile(targetChildIgnoreFile));
     }
 
+    @Test
+    public void copyFolder_stoppedByListener() throws Exception {
+        Path targetDir = tempDir.resolve("target");
+        final List<Path> copied = new ArrayList<>();
+
+        assertFalse(FileUtils.copyFolder(parentDir.toFile(), targetDir.toFile(), null, (file, bytes) -> {
+            copied.add(file);
+            return false;
+        }));
+
+        assertEquals(1, copied.size());
+        assertTrue(Files.isRegularFile(copied.get(0)));
+    }
+
     @Test
     public void copyFolder_intoExistingFolder() throws Exception {
         Path targetDir = Files.createDirectory(tempDir.resolve("target"));
@@ -146,4 +171,16 @@ public class FileUtilsTest {
 
         assertFalse(FileUtils.copyFolder(parentDir.toFile(), targetDir.toFile()));
     }
+
+    @Test
+    public void writeAtomically() throws Exception {
+        Path targetFile = tempDir.resolve("worlds.yml");
+
+        assertTrue(FileUtils.writeAtomically(targetFile.toFile(), "first"));
+        assertEquals("first", new String(Files.readAllBytes(targetFile), StandardCharsets.UTF_8));
+
+        assertTrue(FileUtils.writeAtomically(targetFile.toFile(), "second"));
+        assertEquals("second", new String(Files.readAllBytes(targetFile), StandardCharsets.UTF_8));
+        assertFalse(Files.exists(tempDir.resolve("worlds.yml.tmp")));
+    }
 }
@@ -29,6 +29,7 @@ import java.util.WeakHashMap;
 
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyBoolean;
+import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -150,6 +151,14 @@ public class MockWorldFactory {
                 return mockBlock;
             }
         });
+        when(mockWorld.getBlockAt(anyInt(), anyInt(), anyInt())).thenAnswer(new Answer<Block>() {
+            @Override
+            public Block answer(InvocationOnMock invocation) throws Throwable {
+                World thiss = (World) invocation.getMock();
+                Object[] args = invocation.getArguments();
+                return thiss.getBlockAt(new Location(thiss, (Integer) args[0], (Integer) args[1], (Integer) args[2]));
+            }
+        });
         when(mockWorld.getUID()).thenReturn(UUID.randomUUID());
         return mockWorld;
     }
@@ -193,6 +202,14 @@ public class MockWorldFactory {
                 return mockBlock;
             }
         });
+        when(mockWorld.getBlockAt(anyInt(), anyInt(), anyInt())).thenAnswer(new Answer<Block>() {
+            @Override
+            public Block answer(InvocationOnMock invocation) throws Throwable {
+                World thiss = (World) invocation.getMock();
+                Object[] args = invocation.getArguments();
+                return thiss.getBlockAt(new Location(thiss, (Integer) args[0], (Integer) args[1], (Integer) args[2]));
+            }
+        });
         when(mockWorld.getUID()).thenReturn(UUID.randomUUID());
         return mockWorld;
     }
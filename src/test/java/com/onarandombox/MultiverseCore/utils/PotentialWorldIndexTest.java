@@ -0,0 +1,94 @@
+package com.onarandombox.MultiverseCore.utils;
+
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import org.bukkit.Server;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PotentialWorldIndexTest {
+
+    private Path tempDir;
+    private PotentialWorldIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        tempDir = Files.createTempDirectory("testingWorldIndex");
+
+        MultiverseCore plugin = mock(MultiverseCore.class);
+        Server server = mock(Server.class);
+        when(plugin.getServer()).thenReturn(server);
+        when(server.getWorldContainer()).thenReturn(tempDir.toFile());
+        when(server.getScheduler()).thenReturn(mock(BukkitScheduler.class));
+        // The plugin counts as disabled, so the watcher stops right away and only rescans are tested.
+        when(plugin.isEnabled()).thenReturn(false);
+
+        index = new PotentialWorldIndex(plugin);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try {
+            org.apache.commons.io.FileUtils.deleteDirectory(tempDir.toFile());
+        } catch (IOException e) {
+            if (Files.exists(tempDir)) {
+                throw e;
+            }
+        }
+    }
+
+    @Test
+    public void onlyFoldersWithWorldDataAreListed() throws IOException {
+        createWorld("world");
+        createWorld("world_nether");
+        Files.createDirectory(tempDir.resolve("plugins"));
+        Files.createFile(tempDir.resolve("server.properties"));
+
+        assertEquals(set("world", "world_nether"), new HashSet<String>(index.getWorldFolders()));
+    }
+
+    @Test
+    public void rescanPicksUpChanges() throws IOException {
+        createWorld("world");
+        createWorld("old");
+        assertEquals(set("world", "old"), new HashSet<String>(index.getWorldFolders()));
+
+        org.apache.commons.io.FileUtils.deleteDirectory(tempDir.resolve("old").toFile());
+        createWorld("new");
+        index.run();
+
+        assertEquals(set("world", "new"), new HashSet<String>(index.getWorldFolders()));
+    }
+
+    @Test
+    public void rescanAfterLosingTheWorldDataDropsTheFolder() throws IOException {
+        createWorld("world");
+        assertEquals(set("world"), new HashSet<String>(index.getWorldFolders()));
+
+        Files.delete(tempDir.resolve("world").resolve("level.dat"));
+        index.run();
+
+        assertEquals(set(), new HashSet<String>(index.getWorldFolders()));
+    }
+
+    private void createWorld(String name) throws IOException {
+        Path world = Files.createDirectory(tempDir.resolve(name));
+        Files.createFile(world.resolve("level.dat"));
+    }
+
+    private static Set<String> set(String... names) {
+        return new HashSet<String>(Arrays.asList(names));
+    }
+}
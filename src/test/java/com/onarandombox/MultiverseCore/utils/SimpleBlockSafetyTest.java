@@ -0,0 +1,84 @@
+package com.onarandombox.MultiverseCore.utils;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SimpleBlockSafetyTest {
+    /**
+     * Dirt up to y 63, air above, with a few special columns.
+     */
+    private static final SimpleBlockSafety.BlockTypes BLOCKS = (x, y, z) -> {
+        if (x == 1 && y == 63) {
+            return Material.LAVA;
+        }
+        if (x == 2 && y >= 40 && y < 64) {
+            // A shaft down to water.
+            return y == 40 ? Material.WATER : Material.AIR;
+        }
+        if (x == 3 && y >= 40 && y < 64) {
+            // A shaft down to more dirt.
+            return y == 40 ? Material.DIRT : Material.AIR;
+        }
+        if (x == 4) {
+            return null;
+        }
+        return y < 64 ? Material.DIRT : Material.AIR;
+    };
+
+    @Test
+    public void canSpawnSafelyAt() {
+        assertTrue(SimpleBlockSafety.canSpawnSafelyAt(BLOCKS, 0, 64, 0));
+        assertFalse(SimpleBlockSafety.canSpawnSafelyAt(BLOCKS, 0, 63, 0));
+        assertFalse(SimpleBlockSafety.canSpawnSafelyAt(BLOCKS, 1, 64, 0));
+        assertTrue(SimpleBlockSafety.canSpawnSafelyAt(BLOCKS, 2, 64, 0));
+        assertFalse(SimpleBlockSafety.canSpawnSafelyAt(BLOCKS, 3, 64, 0));
+        assertFalse(SimpleBlockSafety.canSpawnSafelyAt(BLOCKS, 4, 64, 0));
+    }
+
+    @Test
+    public void materialFlags() {
+        assertTrue(MaterialFlags.is(Material.STONE, MaterialFlags.SOLID));
+        assertFalse(MaterialFlags.is(Material.AIR, MaterialFlags.SOLID));
+        assertTrue(MaterialFlags.is(Material.AIR, MaterialFlags.PASSABLE));
+        assertTrue(MaterialFlags.is(Material.LAVA, MaterialFlags.HAZARDOUS));
+        assertTrue(MaterialFlags.is(Material.WATER, MaterialFlags.LIQUID));
+        assertTrue(MaterialFlags.is(null, MaterialFlags.UNKNOWN));
+    }
+
+    @Test
+    public void topAndBottomBlock() {
+        World world = mock(World.class);
+        when(world.getMaxHeight()).thenReturn(256);
+        when(world.getHighestBlockYAt(anyInt(), anyInt())).thenReturn(63);
+        when(world.getBlockAt(anyInt(), anyInt(), anyInt())).thenAnswer(new Answer<Block>() {
+            @Override
+            public Block answer(InvocationOnMock invocation) throws Throwable {
+                Object[] args = invocation.getArguments();
+                Material type = BLOCKS.getType((Integer) args[0], (Integer) args[1], (Integer) args[2]);
+                Block block = mock(Block.class);
+                when(block.getType()).thenReturn(type == null ? Material.STONE : type);
+                return block;
+            }
+        });
+        SimpleBlockSafety safety = new SimpleBlockSafety(null);
+
+        assertEquals(64, safety.getTopBlock(new Location(world, 0, 0, 0)).getBlockY());
+        assertEquals(64, safety.getBottomBlock(new Location(world, 0, 0, 0)).getBlockY());
+        // The shaft has dirt at its bottom to stand on.
+        assertEquals(41, safety.getBottomBlock(new Location(world, 3, 0, 0)).getBlockY());
+        assertNull(safety.getTopBlock(new Location(world, 4, 0, 0)));
+    }
+}
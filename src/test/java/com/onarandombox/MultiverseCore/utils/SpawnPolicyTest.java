@@ -0,0 +1,87 @@
+package com.onarandombox.MultiverseCore.utils;
+
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SpawnPolicyTest {
+
+    private static final List<List<String>> ANIMAL_EXCEPTIONS = Arrays.asList(
+            Collections.<String>emptyList(),
+            Collections.singletonList("ALL"),
+            Collections.singletonList("ANIMALS"),
+            Arrays.asList("COW", "SQUID", "BAT"),
+            Arrays.asList("ANIMALS", "PIG"));
+    private static final List<List<String>> MONSTER_EXCEPTIONS = Arrays.asList(
+            Collections.<String>emptyList(),
+            Collections.singletonList("MONSTERS"),
+            Arrays.asList("ZOMBIE", "GHAST", "SLIME"),
+            Arrays.asList("MONSTERS", "CREEPER"));
+
+    private static Map<EntityType, Entity> entities;
+    private static SimpleWorldPurger purger;
+
+    @BeforeClass
+    public static void setUpClass() {
+        World world = mock(World.class);
+        when(world.getName()).thenReturn("world");
+        entities = new EnumMap<EntityType, Entity>(EntityType.class);
+        for (EntityType type : EntityType.values()) {
+            // The purger checks the entity's interfaces, so the mock has to implement the right one.
+            Class<? extends Entity> entityClass = type.getEntityClass();
+            Entity entity = mock(entityClass != null ? entityClass : Entity.class);
+            when(entity.getType()).thenReturn(type);
+            when(entity.getWorld()).thenReturn(world);
+            entities.put(type, entity);
+        }
+        purger = new SimpleWorldPurger(mock(MultiverseCore.class));
+    }
+
+    @Test
+    public void policyMatchesThePurgerForEveryEntityType() {
+        for (List<String> animals : ANIMAL_EXCEPTIONS) {
+            for (List<String> monsters : MONSTER_EXCEPTIONS) {
+                for (boolean allowAnimals : new boolean[] { true, false }) {
+                    for (boolean allowMonsters : new boolean[] { true, false }) {
+                        assertSameDecisions(animals, monsters, allowAnimals, allowMonsters);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void unknownTypeIsNeverKilled() {
+        SpawnPolicy policy = SpawnPolicy.compile(Collections.<String>emptyList(), Collections.<String>emptyList(),
+                false, false);
+        assertFalse(policy.shouldKill(null));
+    }
+
+    private static void assertSameDecisions(List<String> animals, List<String> monsters,
+                                            boolean allowAnimals, boolean allowMonsters) {
+        SpawnPolicy policy = SpawnPolicy.compile(animals, monsters, allowAnimals, allowMonsters);
+        List<String> thingsToKill = new ArrayList<String>(animals);
+        thingsToKill.addAll(monsters);
+        for (Map.Entry<EntityType, Entity> entry : entities.entrySet()) {
+            boolean expected = purger.shouldWeKillThisCreature(entry.getValue(), thingsToKill, !allowAnimals, !allowMonsters);
+            assertEquals(String.format("%s with exceptions %s, animals %s, monsters %s", entry.getKey(), thingsToKill,
+                    allowAnimals ? "allowed" : "denied", allowMonsters ? "allowed" : "denied"),
+                    expected, policy.shouldKill(entry.getKey()));
+        }
+    }
+}
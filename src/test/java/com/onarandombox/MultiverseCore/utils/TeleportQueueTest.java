@@ -0,0 +1,48 @@
+package com.onarandombox.MultiverseCore.utils;
+
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TeleportQueueTest {
+    @Test
+    public void pollOnce() {
+        TeleportQueue queue = new TeleportQueue();
+        UUID player = UUID.randomUUID();
+        queue.add(player, "CONSOLE");
+
+        assertEquals("CONSOLE", queue.poll(player));
+        assertNull(queue.poll(player));
+        assertNull(queue.poll(UUID.randomUUID()));
+        assertNull(queue.poll(null));
+        assertEquals(1, queue.getConsumed());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void expire() throws InterruptedException {
+        TeleportQueue queue = new TeleportQueue();
+        UUID player = UUID.randomUUID();
+        queue.add(player, "Steve");
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(TeleportQueue.TTL) + 50L);
+
+        assertNull(queue.poll(player));
+        assertEquals(0, queue.getConsumed());
+        assertEquals(1, queue.getExpired());
+    }
+
+    @Test
+    public void bounded() {
+        TeleportQueue queue = new TeleportQueue();
+        for (int i = 0; i < TeleportQueue.MAX_ENTRIES + 10; i++) {
+            queue.add(UUID.randomUUID(), "Steve");
+        }
+
+        assertEquals(TeleportQueue.MAX_ENTRIES, queue.size());
+        assertEquals(10, queue.getExpired());
+    }
+}
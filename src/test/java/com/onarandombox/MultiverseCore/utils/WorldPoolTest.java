@@ -0,0 +1,194 @@
+package com.onarandombox.MultiverseCore.utils;
+
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import com.onarandombox.MultiverseCore.api.MVWorldManager;
+import com.onarandombox.MultiverseCore.api.MultiverseWorld;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WorldPoolTest {
+
+    private Path tempDir;
+    private Server server;
+    private MVWorldManager worldManager;
+    private List<MultiverseWorld> loadedWorlds;
+    private WorldPool pool;
+
+    @Before
+    public void setUp() throws Exception {
+        tempDir = Files.createTempDirectory("testingPool");
+
+        MultiverseCore plugin = mock(MultiverseCore.class);
+        server = mock(Server.class);
+        worldManager = mock(MVWorldManager.class);
+        loadedWorlds = new ArrayList<MultiverseWorld>();
+        when(plugin.getServer()).thenReturn(server);
+        when(plugin.getMVWorldManager()).thenReturn(worldManager);
+        when(server.getScheduler()).thenReturn(mock(BukkitScheduler.class));
+        when(server.getWorldContainer()).thenReturn(tempDir.toFile());
+        when(worldManager.getMVWorlds()).thenReturn(loadedWorlds);
+
+        MultiverseWorld template = mockWorld("template");
+        when(worldManager.getMVWorld("template")).thenReturn(template);
+
+        pool = new WorldPool(plugin);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try {
+            org.apache.commons.io.FileUtils.deleteDirectory(tempDir.toFile());
+        } catch (IOException e) {
+            if (Files.exists(tempDir)) {
+                throw e;
+            }
+        }
+    }
+
+    @Test
+    public void setSizeOfUnknownTemplateFails() {
+        assertFalse(pool.setSize("nothing", 1));
+        assertEquals(0, pool.getReadyCount("nothing"));
+    }
+
+    @Test
+    public void refillClonesUntilThePoolIsFull() {
+        MultiverseWorld first = mockWorld("template_pool_1");
+        MultiverseWorld second = mockWorld("template_pool_2");
+        when(worldManager.cloneWorldAsync("template", "template_pool_1", null))
+                .thenReturn(CompletableFuture.completedFuture(first));
+        when(worldManager.cloneWorldAsync("template", "template_pool_2", null))
+                .thenReturn(CompletableFuture.completedFuture(second));
+        assertTrue(pool.setSize("template", 2));
+
+        // The first check only measures how long a tick takes.
+        pool.run();
+        assertEquals(0, pool.getReadyCount("template"));
+        pool.run();
+        assertEquals(1, pool.getReadyCount("template"));
+        assertTrue(pool.isReady("template_pool_1"));
+
+        when(worldManager.hasUnloadedWorld("template_pool_1", true)).thenReturn(true);
+        pool.run();
+        assertEquals(2, pool.getReadyCount("template"));
+        assertTrue(pool.isReady("template_pool_2"));
+
+        pool.run();
+        verify(worldManager, times(2)).cloneWorldAsync(anyString(), anyString(), any());
+    }
+
+    @Test
+    public void failedRefillIsNotRetriedRightAway() {
+        CompletableFuture<MultiverseWorld> failed = CompletableFuture.completedFuture(null);
+        when(worldManager.cloneWorldAsync("template", "template_pool_1", null)).thenReturn(failed);
+        pool.setSize("template", 1);
+
+        pool.run();
+        pool.run();
+        pool.run();
+        assertEquals(0, pool.getReadyCount("template"));
+        verify(worldManager, times(1)).cloneWorldAsync(anyString(), anyString(), any());
+    }
+
+    @Test
+    public void claimHandsOutReadyWorldsOnce() {
+        MultiverseWorld pooled = mockWorld("template_pool_1");
+        loadedWorlds.add(pooled);
+        pool.setSize("template", 1);
+        assertEquals(1, pool.getReadyCount("template"));
+
+        assertSame(pooled, pool.claim("template"));
+        assertFalse(pool.isReady("template_pool_1"));
+        assertNull(pool.claim("template"));
+    }
+
+    @Test
+    public void claimSkipsOccupiedWorlds() {
+        MultiverseWorld occupied = mockWorld("template_pool_1");
+        MultiverseWorld empty = mockWorld("template_pool_2");
+        loadedWorlds.add(occupied);
+        loadedWorlds.add(empty);
+        pool.setSize("template", 2);
+        assertEquals(2, pool.getReadyCount("template"));
+
+        World cbWorld = server.getWorld("template_pool_1");
+        when(cbWorld.getPlayers()).thenReturn(Collections.singletonList(mock(Player.class)));
+        assertSame(empty, pool.claim("template"));
+        assertEquals(0, pool.getReadyCount("template"));
+    }
+
+    @Test
+    public void releaseDeletesClaimedWorld() {
+        loadedWorlds.add(mockWorld("template_pool_1"));
+        when(worldManager.deleteWorld("template_pool_1")).thenReturn(true);
+        pool.setSize("template", 1);
+        pool.claim("template");
+
+        assertTrue(pool.release("template_pool_1"));
+        verify(worldManager).deleteWorld("template_pool_1");
+        // It's not claimed anymore.
+        assertFalse(pool.release("template_pool_1"));
+        verify(worldManager, times(1)).deleteWorld("template_pool_1");
+    }
+
+    @Test
+    public void releaseOfUnpooledWorldDoesNothing() {
+        loadedWorlds.add(mockWorld("template_pool_1"));
+        pool.setSize("template", 1);
+
+        assertFalse(pool.release("template"));
+        // Ready worlds haven't been claimed, so they can't be released either.
+        assertFalse(pool.release("template_pool_1"));
+        verify(worldManager, never()).deleteWorld(anyString());
+        assertTrue(pool.isReady("template_pool_1"));
+    }
+
+    @Test
+    public void shrinkingDeletesExtraWorlds() {
+        loadedWorlds.add(mockWorld("template_pool_1"));
+        loadedWorlds.add(mockWorld("template_pool_2"));
+        pool.setSize("template", 2);
+        pool.setSize("template", 1);
+
+        pool.run();
+        pool.run();
+        verify(worldManager).deleteWorld("template_pool_2");
+        assertEquals(1, pool.getReadyCount("template"));
+    }
+
+    private MultiverseWorld mockWorld(String name) {
+        MultiverseWorld world = mock(MultiverseWorld.class);
+        World cbWorld = mock(World.class);
+        when(world.getName()).thenReturn(name);
+        when(cbWorld.getName()).thenReturn(name);
+        when(worldManager.getMVWorld(name, false)).thenReturn(world);
+        when(server.getWorld(name)).thenReturn(cbWorld);
+        return world;
+    }
+}
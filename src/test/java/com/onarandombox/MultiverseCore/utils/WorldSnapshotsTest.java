@@ -0,0 +1,168 @@
+package com.onarandombox.MultiverseCore.utils;
+
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import com.onarandombox.MultiverseCore.api.MVWorldManager;
+import org.bukkit.Server;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class WorldSnapshotsTest {
+
+    private Path tempDir;
+    private Path worldDir;
+    private Path dataDir;
+    private WorldSnapshots snapshots;
+
+    @Before
+    public void setUp() throws Exception {
+        tempDir = Files.createTempDirectory("testingSnapshots");
+        Path container = Files.createDirectory(tempDir.resolve("worlds"));
+        worldDir = Files.createDirectory(container.resolve("world"));
+        dataDir = Files.createDirectory(tempDir.resolve("plugin"));
+
+        MultiverseCore plugin = mock(MultiverseCore.class);
+        Server server = mock(Server.class);
+        BukkitScheduler scheduler = mock(BukkitScheduler.class);
+        MVWorldManager worldManager = mock(MVWorldManager.class);
+        when(plugin.getDataFolder()).thenReturn(dataDir.toFile());
+        when(plugin.getServer()).thenReturn(server);
+        when(plugin.getMVWorldManager()).thenReturn(worldManager);
+        when(server.getWorldContainer()).thenReturn(container.toFile());
+        when(server.getScheduler()).thenReturn(scheduler);
+        // Run the main thread part right away.
+        when(scheduler.runTask(any(Plugin.class), any(Runnable.class))).thenAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        });
+        when(worldManager.getConfigWorldName("world")).thenReturn("world");
+        when(worldManager.isMVWorld(anyString(), anyBoolean())).thenReturn(false);
+
+        snapshots = new WorldSnapshots(plugin);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        snapshots.shutdown();
+        try {
+            org.apache.commons.io.FileUtils.deleteDirectory(tempDir.toFile());
+        } catch (IOException e) {
+            if (Files.exists(tempDir)) {
+                throw e;
+            }
+        }
+    }
+
+    @Test
+    public void createStoresUnchangedRegionFilesOnce() throws Exception {
+        writeFile("region/r.0.0.mca", "region", 1000L);
+        writeFile("level.dat", "level 1", 1000L);
+        assertTrue(create("one"));
+        assertEquals(2, countObjects());
+
+        writeFile("level.dat", "level 2", 2000L);
+        assertTrue(create("two"));
+        // Only the changed level.dat is stored again.
+        assertEquals(3, countObjects());
+        assertEquals(Arrays.asList("one", "two"), snapshots.list("world"));
+    }
+
+    @Test
+    public void restoreBringsBackTheSnapshot() throws Exception {
+        writeFile("region/r.0.0.mca", "region", 1000L);
+        writeFile("level.dat", "level", 1000L);
+        assertTrue(create("one"));
+
+        writeFile("region/r.0.0.mca", "changed region", 2000L);
+        writeFile("region/r.1.0.mca", "new region", 2000L);
+        Files.delete(worldDir.resolve("level.dat"));
+
+        assertTrue(snapshots.restore("world", "one").get(10, TimeUnit.SECONDS));
+        assertFalse(snapshots.isRestoring("world"));
+        assertEquals("region", readFile("region/r.0.0.mca"));
+        assertEquals("level", readFile("level.dat"));
+        assertFalse(Files.exists(worldDir.resolve("region/r.1.0.mca")));
+        assertEquals(1000L, Files.getLastModifiedTime(worldDir.resolve("level.dat")).toMillis());
+    }
+
+    @Test
+    public void restoreOfMissingSnapshotFails() throws Exception {
+        writeFile("level.dat", "level", 1000L);
+        assertFalse(snapshots.restore("world", "missing").get(10, TimeUnit.SECONDS));
+        assertEquals("level", readFile("level.dat"));
+    }
+
+    @Test
+    public void pruneKeepsObjectsOfRemainingSnapshots() throws Exception {
+        writeFile("region/r.0.0.mca", "region", 1000L);
+        writeFile("level.dat", "level 1", 1000L);
+        assertTrue(create("one"));
+        writeFile("level.dat", "level 2", 2000L);
+        assertTrue(create("two"));
+        writeFile("level.dat", "level 3", 3000L);
+        assertTrue(create("three"));
+        assertEquals(4, countObjects());
+
+        assertEquals(2, (int) snapshots.prune("world", 1).get(10, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("three"), snapshots.list("world"));
+        // The region file is still used by the last snapshot, the old level.dat files aren't.
+        assertEquals(2, countObjects());
+
+        writeFile("level.dat", "level 4", 4000L);
+        assertTrue(snapshots.restore("world", "three").get(10, TimeUnit.SECONDS));
+        assertEquals("region", readFile("region/r.0.0.mca"));
+        assertEquals("level 3", readFile("level.dat"));
+    }
+
+    private boolean create(String name) throws Exception {
+        boolean created = snapshots.create("world", name).get(10, TimeUnit.SECONDS);
+        // Snapshots are ordered by the time of their manifest, which can be the same within a test.
+        File manifest = dataDir.resolve("snapshots/worlds/world/" + name + ".snapshot").toFile();
+        if (created) {
+            assertTrue(manifest.setLastModified(snapshots.list("world").size() * 1000L));
+        }
+        return created;
+    }
+
+    private void writeFile(String path, String content, long modified) throws IOException {
+        Path file = worldDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified));
+    }
+
+    private String readFile(String path) throws IOException {
+        return new String(Files.readAllBytes(worldDir.resolve(path)), StandardCharsets.UTF_8);
+    }
+
+    private long countObjects() throws IOException {
+        Path objects = dataDir.resolve("snapshots/objects");
+        if (!Files.isDirectory(objects)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.walk(objects)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".gz")).count();
+        }
+    }
+}
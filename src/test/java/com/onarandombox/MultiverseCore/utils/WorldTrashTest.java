@@ -0,0 +1,126 @@
+package com.onarandombox.MultiverseCore.utils;
+
+import com.onarandombox.MultiverseCore.MultiverseCore;
+import com.onarandombox.MultiverseCore.api.MultiverseCoreConfig;
+import org.bukkit.Server;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class WorldTrashTest {
+
+    private Path tempDir;
+    private Path worldDir;
+    private Path trashDir;
+    private MultiverseCoreConfig config;
+    private WorldTrash trash;
+
+    @Before
+    public void setUp() throws Exception {
+        tempDir = Files.createTempDirectory("testingTrash");
+        worldDir = Files.createDirectory(tempDir.resolve("world"));
+        Files.createFile(worldDir.resolve("level.dat"));
+        trashDir = tempDir.resolve(WorldTrash.TRASH_FOLDER);
+
+        MultiverseCore plugin = mock(MultiverseCore.class);
+        Server server = mock(Server.class);
+        BukkitScheduler scheduler = mock(BukkitScheduler.class);
+        config = mock(MultiverseCoreConfig.class);
+        when(plugin.getServer()).thenReturn(server);
+        when(plugin.getMVConfig()).thenReturn(config);
+        when(server.getWorldContainer()).thenReturn(tempDir.toFile());
+        when(server.getScheduler()).thenReturn(scheduler);
+        // Empty the trash right away instead of in the background.
+        when(scheduler.runTaskLaterAsynchronously(any(Plugin.class), any(Runnable.class), anyLong())).thenAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        });
+
+        trash = new WorldTrash(plugin);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try {
+            org.apache.commons.io.FileUtils.deleteDirectory(tempDir.toFile());
+        } catch (IOException e) {
+            if (Files.exists(tempDir)) {
+                throw e;
+            }
+        }
+    }
+
+    @Test
+    public void trashMovesTheFolder() {
+        when(config.getTrashRetentionMinutes()).thenReturn(60);
+        assertTrue(trash.trash(worldDir.toFile(), false));
+
+        assertFalse(Files.exists(worldDir));
+        File[] entries = trashDir.toFile().listFiles();
+        assertNotNull(entries);
+        assertEquals(1, entries.length);
+        assertTrue(entries[0].getName().startsWith("world."));
+        assertTrue(new File(entries[0], "level.dat").isFile());
+    }
+
+    @Test
+    public void trashCanKeepAnEmptyFolder() {
+        when(config.getTrashRetentionMinutes()).thenReturn(60);
+        assertTrue(trash.trash(worldDir.toFile(), true));
+
+        assertTrue(Files.isDirectory(worldDir));
+        assertEquals(0, worldDir.toFile().list().length);
+        assertEquals(1, trashDir.toFile().list().length);
+    }
+
+    @Test
+    public void trashWithoutRetentionDeletesRightAway() {
+        when(config.getTrashRetentionMinutes()).thenReturn(0);
+        assertTrue(trash.trash(worldDir.toFile(), false));
+
+        assertFalse(Files.exists(worldDir));
+        assertEquals(0, trashDir.toFile().list().length);
+    }
+
+    @Test
+    public void emptyingOnlyDeletesExpiredFolders() throws IOException {
+        when(config.getTrashRetentionMinutes()).thenReturn(60);
+        long now = System.currentTimeMillis();
+        Path expired = Files.createDirectories(trashDir.resolve("old." + (now - TimeUnit.MINUTES.toMillis(61))));
+        Path kept = Files.createDirectories(trashDir.resolve("new." + (now - TimeUnit.MINUTES.toMillis(59))));
+
+        trash.emptyLater(0L);
+
+        assertFalse(Files.exists(expired));
+        assertTrue(Files.exists(kept));
+    }
+
+    @Test
+    public void emptyingLeavesForeignFoldersAlone() throws IOException {
+        when(config.getTrashRetentionMinutes()).thenReturn(0);
+        Path noSuffix = Files.createDirectories(trashDir.resolve("notes"));
+        Path otherSuffix = Files.createDirectories(trashDir.resolve("world.backup"));
+
+        trash.emptyLater(0L);
+
+        assertTrue(Files.exists(noSuffix));
+        assertTrue(Files.exists(otherSuffix));
+    }
+}